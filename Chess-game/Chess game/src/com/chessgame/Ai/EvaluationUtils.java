@@ -1,7 +1,15 @@
 package com.chessgame.Ai;
 
+import com.chessgame.Board.AttackMap;
+import com.chessgame.Board.Attacks;
 import com.chessgame.Board.Board;
+import com.chessgame.Board.CheckInfo;
 import com.chessgame.Board.Move;
+import com.chessgame.Board.MoveGenerator;
+import com.chessgame.Board.PieceSquareTables;
+import com.chessgame.Board.Position;
+import com.chessgame.Board.See;
+import com.chessgame.Game.ToolShed;
 import com.chessgame.Pieces.*;
 
 import java.util.ArrayList;
@@ -19,54 +27,43 @@ public class EvaluationUtils {
     private static double GAME_STAGE_FACTOR = 0.0;
 
     /**
-     * Searches the board for a King of the specified color.
+     * The King of the specified color, from the board's king square.
      */
     public static King findKingOnBoard(Board board, boolean isWhite) {
-        for (Piece p : board.getAllPieces()) {
-            if (p instanceof King && p.isWhite() == isWhite) {
-                return (King) p;
-            }
-        }
-        return null;
+        return board.getKing(isWhite);
     }
 
     /**
-     * Determines if the specified king is in check by examining all enemy moves.
+     * Determines if the specified king is in check by probing outward from its square.
      */
     public static boolean isKingInCheck(Board board, King king) {
-        if (king == null) return false;
-        int kx = king.getXcord(), ky = king.getYcord();
-        for (Piece e : board.getAllPieces()) {
-            if (e.isWhite() != king.isWhite()) {
-                e.fillAllPseudoLegalMoves(board);
-                for (Move m : e.getMoves()) {
-                    if (m.getToX() == kx && m.getToY() == ky) return true;
-                }
-            }
-        }
-        return false;
+        return king != null && king.isInCheck(board);
     }
 
     /**
-     * Determines if a given move is legal by simulating it and checking if the king remains safe.
+     * Determines if a given move is legal from the checkers and pins of the piece's side,
+     * without playing it.
      */
     public static boolean isMoveLegal(Board board, Piece piece, Move move) {
-        Board cb = board.clone();
-        Piece cp = cb.getPiece(piece.getXcord(), piece.getYcord());
-        if (cp == null) return false;
-        cp.makeMove(move.getToX(), move.getToY(), cb);
-        King k = findKingOnBoard(cb, piece.isWhite());
-        return k != null && !isKingInCheck(cb, k);
+        if (board.getPiece(piece.getXcord(), piece.getYcord()) == null) return false;
+        CheckInfo info = new CheckInfo(board.getPosition(), piece.isWhite());
+        return info.getKingSquare() >= 0 && info.isLegal(
+                Position.square(piece.getXcord(), piece.getYcord()),
+                Position.square(move.getToX(), move.getToY()));
     }
 
     /**
-     * Determines if a Transplant move is legal by simulating it and checking if the king remains safe.
+     * Determines if a Transplant move is legal: the target must be in the legal drop
+     * squares of its piece type (empty, blocking any check, pawn rows for pawns).
      */
     public static boolean isTransplantLegal(Board board, TransplantMoveCandidate candidate) {
-        Board cb = board.clone();
-        candidate.apply(cb);
-        King k = findKingOnBoard(cb, candidate.isWhite());
-        return k != null && !isKingInCheck(cb, k);
+        int type = ToolShed.getPieceTypeIndex(candidate.getPieceName());
+        if (type < 0) type = Piece.PAWN_INDEX;
+        Position pos = board.getPosition();
+        CheckInfo info = new CheckInfo(pos, candidate.isWhite());
+        if (info.getKingSquare() < 0) return false;
+        long target = Position.bit(Position.square(candidate.getX(), candidate.getY()));
+        return (MoveGenerator.dropTargets(pos, type, info) & target) != 0;
     }
 
     /**
@@ -80,8 +77,9 @@ public class EvaluationUtils {
         if (isMate(board, true))  return getMateScore(aiIsWhite, false);
         if (isMate(board, false)) return getMateScore(aiIsWhite, true);
 
-        // 3) Setup accumulators
+        // 3) Setup accumulators; the attack maps are generated once and shared by the terms below
         double whiteScore = 0.0, blackScore = 0.0;
+        AttackMap attacks = board.getPosition().attacks();
         int[] whiteCounts = new int[Piece.KING_INDEX + 1];
         int[] blackCounts = new int[Piece.KING_INDEX + 1];
         List<int[]> whitePawns = new ArrayList<>();
@@ -135,16 +133,16 @@ public class EvaluationUtils {
         blackScore += evaluateEndgameKingPosition(board, false) * GAME_STAGE_FACTOR;
 
         // 11) Center control + castling
-        whiteScore += evaluateCenterControl(board, true)  + evaluateCastlingBonus(board, true);
-        blackScore += evaluateCenterControl(board, false) + evaluateCastlingBonus(board, false);
+        whiteScore += evaluateCenterControl(board, attacks, true)  + evaluateCastlingBonus(board, true);
+        blackScore += evaluateCenterControl(board, attacks, false) + evaluateCastlingBonus(board, false);
 
         // 12) Slight bonus if the opponent is in check
-        King wK = findKingOnBoard(board, true), bK = findKingOnBoard(board, false);
-        if (wK != null && isKingInCheck(board, wK)) blackScore += 0.5;
-        if (bK != null && isKingInCheck(board, bK)) whiteScore += 0.5;
+        int wK = board.getPosition().kingSquare(true), bK = board.getPosition().kingSquare(false);
+        if (wK >= 0 && attacks.isAttacked(wK, false)) blackScore += 0.5;
+        if (bK >= 0 && attacks.isAttacked(bK, true))  whiteScore += 0.5;
 
         // 13) Threatened pieces
-        double[] th = evaluateThreatenedPieces(board);
+        double[] th = evaluateThreatenedPieces(board, attacks);
         whiteScore += th[0];
         blackScore += th[1];
 
@@ -153,9 +151,8 @@ public class EvaluationUtils {
         int finalScore = (int)(diff * 100);
         if (!aiIsWhite) finalScore = -finalScore;
 
-        // 15) Extra penalties/bonuses
-        finalScore += applyImmediateCapturePenalty(board, aiIsWhite);
-        finalScore += applyMateInOneThreatPenalty(board, aiIsWhite);
+        // 15) Extra penalties/bonuses; hanging pieces and mate threats are left to the
+        //     search's quiescence instead of blanket penalties
         finalScore += evaluateEarlyQueenPenalty(board, aiIsWhite);
         finalScore += evaluateMinorPieceMovementPenalty(board, aiIsWhite);
 
@@ -178,81 +175,44 @@ public class EvaluationUtils {
         }
     }
 
-    private static int applyImmediateCapturePenalty(Board board, boolean aiIsWhite) {
-        boolean[][] attacked = new boolean[BOARD_SIZE][BOARD_SIZE];
-        fillAttackedSquares(board, !aiIsWhite, attacked);
-        int penalty = 0;
-        for (Piece p : board.getAllPieces()) {
-            if (p.isWhite() == aiIsWhite) {
-                int r = p.getXcord(), c = p.getYcord();
-                if (attacked[r][c]) {
-                    double loss = Math.abs(p.getValueInTheboard()) * MATERIAL_FACTOR;
-                    penalty -= (int)(loss * 200);
-                }
-            }
-        }
-        return penalty;
-    }
-
-    private static int applyMateInOneThreatPenalty(Board board, boolean aiIsWhite) {
-        boolean opp = !aiIsWhite;
-        for (Piece p : board.getAllPieces()) {
-            if (p.isWhite() == opp) {
-                p.fillAllPseudoLegalMoves(board);
-                for (Move m : p.getMoves()) {
-                    if (isMoveLegal(board, p, m)) {
-                        Board cb = board.clone();
-                        Piece cp = cb.getPiece(p.getXcord(), p.getYcord());
-                        if (cp != null) cp.makeMove(m.getToX(), m.getToY(), cb);
-                        if (isMate(cb, aiIsWhite)) {
-                            return -100000;
-                        }
-                    }
-                }
-            }
-        }
-        return 0;
-    }
-
     /**
-     * Evaluate penalties for pieces that are being attacked.
+     * Evaluate penalties for pieces that are being attacked, from the attack maps and the
+     * static exchange on each piece's square ({@link See}).
      * @param board    the current board state
+     * @param attacks  attack maps of the board's position
      * @return         an array [whitePenalty, blackPenalty]
      */
-    private static double[] evaluateThreatenedPieces(Board board) {
-        // 1) Build attack maps for both sides
-        boolean[][] wAtt = new boolean[BOARD_SIZE][BOARD_SIZE];
-        boolean[][] bAtt = new boolean[BOARD_SIZE][BOARD_SIZE];
-        fillAttackedSquares(board, true,  wAtt);   // squares White attacks
-        fillAttackedSquares(board, false, bAtt);   // squares Black attacks
-
+    private static double[] evaluateThreatenedPieces(Board board, AttackMap attacks) {
+        Position pos = board.getPosition();
+        double pawnValue = PieceSquareTables.MATERIAL[Piece.PAWN_INDEX];
         double wPen = 0.0, bPen = 0.0;
+        // One exchange buffer for all the pieces
+        int[] gain = See.newBuffer();
 
-        // 2) For each piece on the board...
+        // 1) For each piece on the board...
         for (Piece p : board.getAllPieces()) {
-            int r = p.getXcord(), c = p.getYcord();
+            int sq = Position.square(p.getXcord(), p.getYcord());
             boolean isWhite = p.isWhite();
             double val = Math.abs(p.getValueInTheboard());
 
-            // 3) Is this square attacked by the enemy?
-            boolean threatened = isWhite ? bAtt[r][c] : wAtt[r][c];
-            if (!threatened) continue;
+            // 2) Is this square attacked by the enemy?
+            if (!attacks.isAttacked(sq, !isWhite)) continue;
 
-            // 4) Is the piece defended by its own side?
-            boolean defended = isWhite ? wAtt[r][c] : bAtt[r][c];
+            // 3) Is the piece defended by its own side?
+            boolean defended = attacks.isAttacked(sq, isWhite);
 
-            // 5) Find the smallest‐valued attacker
-            double minAttacker = findMinEnemyAttackerValue(board, r, c, isWhite);
+            // 4) What does the enemy win by starting the exchange here?
+            double loss = See.threat(pos, sq, !isWhite, gain) / pawnValue;
 
-            // 6) Compute penalty:
+            // 5) Compute penalty:
             //    – If undefended: value + 3
-            //    – Else if lowest attacker’s value ≤ piece’s value: value + 2
+            //    – Else if the exchange loses material: the loss + 2
             //    – Otherwise: half the piece’s value
             double pen = !defended
                        ? val + 3.0
-                       : (minAttacker <= val ? val + 2.0 : val * 0.5);
+                       : (loss > 0 ? loss + 2.0 : val * 0.5);
 
-            // 7) Subtract from that side’s total
+            // 6) Subtract from that side’s total
             if (isWhite) wPen -= pen;
                      else bPen -= pen;
         }
@@ -260,54 +220,6 @@ public class EvaluationUtils {
         return new double[]{wPen, bPen};
     }
 
-    /**
-     * Find the minimum piece‐value of any enemy attacker that can move to (row,col).
-     * @param board    current board
-     * @param row,col  target square
-     * @param isWhite  true if we’re finding attackers against White’s piece
-     * @return         smallest attacker value, or 9999.0 if none found
-     */
-    private static double findMinEnemyAttackerValue(Board board, int row, int col, boolean isWhite) {
-        double min = Double.POSITIVE_INFINITY;
-
-        // For every opponent piece...
-        for (Piece p : board.getAllPieces()) {
-            if (p.isWhite() == isWhite) continue;   // skip own pieces
-
-            // Generate its pseudo‐moves and check if any lands on (row,col)
-            p.fillAllPseudoLegalMoves(board);
-            for (Move m : p.getMoves()) {
-                if (m.getToX() == row && m.getToY() == col) {
-                    double v = Math.abs(p.getValueInTheboard());
-                    if (v < min) min = v;
-                }
-            }
-        }
-        return (min == Double.POSITIVE_INFINITY) ? 9999.0 : min;
-    }
-
-    /**
-     * Fill a boolean grid with every square attacked by the given side’s pseudo‐legal moves.
-     * @param board    current board
-     * @param isWhite  which side to map (true=White, false=Black)
-     * @param att      output array: att[r][c]=true if attacked
-     */
-    private static void fillAttackedSquares(Board board, boolean isWhite, boolean[][] att) {
-        // 1) Clear the grid
-        for (int r = 0; r < BOARD_SIZE; r++)
-            for (int c = 0; c < BOARD_SIZE; c++)
-                att[r][c] = false;
-
-        // 2) For each piece of that color, mark all destinations
-        for (Piece p : board.getAllPieces()) {
-            if (p.isWhite() != isWhite) continue;
-            p.fillAllPseudoLegalMoves(board);
-            for (Move m : p.getMoves()) {
-                att[m.getToX()][m.getToY()] = true;
-            }
-        }
-    }
-
     /**
      * Evaluates pawn structure factors:
      * - Doubled‐pawn penalty
@@ -401,34 +313,32 @@ public class EvaluationUtils {
         double score = 0.0;
 
         // For each rook of the given color:
-        for (Piece p : board.getAllPieces()) {
-            if (p instanceof Rook && p.isWhite() == isWhite) {
-                int row = p.getXcord(), col = p.getYcord();
-                boolean ownPawn   = false;
-                boolean enemyPawn = false;
-
-                // Scan the entire file for pawns
-                for (int r = 0; r < BOARD_SIZE; r++) {
-                    Piece sq = board.getPiece(r, col);
-                    if (sq instanceof Pawn) {
-                        if (sq.isWhite() == isWhite) ownPawn   = true;
-                        else                          enemyPawn = true;
-                    }
-                }
-
-                // Open file if no pawns at all
-                if (!ownPawn && !enemyPawn) {
-                    score += 0.5;
-                }
-                // Semi‑open file if only enemy pawns present
-                else if (!ownPawn) {
-                    score += 0.25;
+        for (Piece p : board.getPieces(Piece.ROOK_INDEX, isWhite)) {
+            int row = p.getXcord(), col = p.getYcord();
+            boolean ownPawn   = false;
+            boolean enemyPawn = false;
+
+            // Scan the entire file for pawns
+            for (int r = 0; r < BOARD_SIZE; r++) {
+                Piece sq = board.getPiece(r, col);
+                if (sq instanceof Pawn) {
+                    if (sq.isWhite() == isWhite) ownPawn   = true;
+                    else                          enemyPawn = true;
                 }
+            }
 
-                // Bonus for rooks on opponent’s back‑rank
-                if (isWhite && row == BOARD_SIZE - 2) score += 0.2;  // White on rank 7
-                if (!isWhite && row == 1)            score += 0.2;  // Black on rank 2
+            // Open file if no pawns at all
+            if (!ownPawn && !enemyPawn) {
+                score += 0.5;
+            }
+            // Semi‑open file if only enemy pawns present
+            else if (!ownPawn) {
+                score += 0.25;
             }
+
+            // Bonus for rooks on opponent’s back‑rank
+            if (isWhite && row == BOARD_SIZE - 2) score += 0.2;  // White on rank 7
+            if (!isWhite && row == 1)            score += 0.2;  // Black on rank 2
         }
 
         return score;
@@ -479,13 +389,11 @@ public class EvaluationUtils {
      */
     private static int countAllLegalMoves(Board board, boolean isWhite) {
         int count = 0;
-        for (Piece p : board.getAllPieces()) {
-            if (p.isWhite() == isWhite) {
-                p.fillAllPseudoLegalMoves(board);
-                for (Move m : p.getMoves()) {
-                    if (isMoveLegal(board, p, m)) {
-                        count++;
-                    }
+        for (Piece p : board.getPieces(isWhite)) {
+            p.fillAllPseudoLegalMoves(board);
+            for (Move m : p.getMoves()) {
+                if (isMoveLegal(board, p, m)) {
+                    count++;
                 }
             }
         }
@@ -516,11 +424,11 @@ public class EvaluationUtils {
      * Values occupancy of the four central squares:
      *  +2 for a pawn, +0.5 for any other friendly piece
      *  –2 or –0.5 for enemy pieces
-     * If a square is empty, adds small influence based on pseudo legal moves targeting it:
-     *  +0.3 for pawn, +0.2 for other friendly movers
+     * If a square is empty, adds small influence per piece attacking it (attack maps):
+     *  +0.3 for pawn, +0.2 for other friendly attackers
      *  –0.3 / –0.2 for enemy
      */
-    private static double evaluateCenterControl(Board board, boolean isWhite) {
+    private static double evaluateCenterControl(Board board, AttackMap attacks, boolean isWhite) {
         double bonus = 0.0;
         int mid = BOARD_SIZE / 2;
         int[][] centers = {{mid-1, mid-1}, {mid-1, mid}, {mid, mid-1}, {mid, mid}};
@@ -537,50 +445,34 @@ public class EvaluationUtils {
                     bonus -= (occupant instanceof Pawn) ? 2 : 0.5;
                 }
             } else {
-                // Influence by pseudo‑legal attacks
-                double friendlyInfluence = 0, enemyInfluence = 0;
-                for (Piece p : board.getAllPieces()) {
-                    p.fillAllPseudoLegalMoves(board);
-                    for (Move m : p.getMoves()) {
-                        if (m.getToX() == r && m.getToY() == c) {
-                            if (p.isWhite() == isWhite) {
-                                friendlyInfluence += (p instanceof Pawn) ? 0.3 : 0.2;
-                            } else {
-                                enemyInfluence   += (p instanceof Pawn) ? 0.3 : 0.2;
-                            }
-                        }
-                    }
-                }
-                bonus += friendlyInfluence - enemyInfluence;
+                // Influence by attackers, counted from the attack maps
+                int sqIndex = Position.square(r, c);
+                bonus += influence(board.getPosition(), attacks, sqIndex, isWhite)
+                       - influence(board.getPosition(), attacks, sqIndex, !isWhite);
             }
         }
 
         return bonus;
     }
 
+    /**
+     * Center influence of one side on a square: 0.3 per attacking pawn, 0.2 per other attacker.
+     */
+    private static double influence(Position pos, AttackMap attacks, int sq, boolean isWhite) {
+        int pawns = Long.bitCount(Attacks.pawn(!isWhite, sq) & pos.pieces(Piece.PAWN_INDEX, isWhite));
+        return pawns * 0.3 + (attacks.attackerCount(sq, isWhite) - pawns) * 0.2;
+    }
+
 
     /**
-     * Checks whether a side is in mate (no legal move can remove the check).
+     * Checks whether a side is in mate (no legal move or drop can remove the check).
+     * A side not in check is found out by one probe from its king's square; otherwise the
+     * search for an escape stops at the first one.
      */
     public static boolean isMate(Board board, boolean isWhite) {
-        King k = findKingOnBoard(board, isWhite);
-        if (k == null) return false;
-        if (!isKingInCheck(board, k)) return false;
-        for (Piece p : board.getAllPieces()) {
-            if (p.isWhite() == isWhite) {
-                p.fillAllPseudoLegalMoves(board);
-                for (Move m : p.getMoves()) {
-                    if (isMoveLegal(board, p, m)) {
-                        Board cb = board.clone();
-                        Piece cp = cb.getPiece(p.getXcord(), p.getYcord());
-                        if (cp != null) cp.makeMove(m.getToX(), m.getToY(), cb);
-                        King ck = findKingOnBoard(cb, isWhite);
-                        if (ck != null && !isKingInCheck(cb, ck)) return false;
-                    }
-                }
-            }
-        }
-        return true;
+        Position pos = board.getPosition();
+        if (pos.kingSquare(isWhite) < 0 || !pos.isInCheck(isWhite)) return false;
+        return !MoveGenerator.hasLegalMove(pos, isWhite);
     }
 
     /**
@@ -621,12 +513,10 @@ public class EvaluationUtils {
         // Invert the game‐stage factor so the penalty is largest in the opening
         double factor = 1.0 - GAME_STAGE_FACTOR;
 
-        for (Piece p : board.getAllPieces()) {
-            if (p instanceof Queen && p.isWhite() == aiIsWhite) {
-                // If the queen has moved from its home square, apply the penalty
-                if (p.getYcord() != startRank || p.getXcord() != startFile) {
-                    return (int)(-500 * factor);
-                }
+        for (Piece p : board.getPieces(Piece.QUEEN_INDEX, aiIsWhite)) {
+            // If the queen has moved from its home square, apply the penalty
+            if (p.getYcord() != startRank || p.getXcord() != startFile) {
+                return (int)(-500 * factor);
             }
         }
         return 0;
@@ -650,9 +540,7 @@ public class EvaluationUtils {
         // White home rank = 7, Black home rank = 0
         int homeRank = isWhite ? BOARD_SIZE - 1 : 0;
 
-        for (Piece p : board.getAllPieces()) {
-            if (p.isWhite() != isWhite) continue;
-
+        for (Piece p : board.getPieces(isWhite)) {
             int file = p.getXcord();  // 0 = 'a', 1 = 'b', … 7 = 'h'
             int rank = p.getYcord();  // 0 = 1st rank, … 7 = 8th rank
 
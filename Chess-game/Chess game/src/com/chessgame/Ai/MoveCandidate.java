@@ -21,4 +21,12 @@ public interface MoveCandidate {
      * @return a brief description of the move.
      */
     String getDescription();
+
+    /**
+     * Returns this candidate in the {@link com.chessgame.Board.PackedMove} encoding used by the search.
+     *
+     * @param board the board the candidate was generated for.
+     * @return the packed move.
+     */
+    int getPackedMove(Board board);
 }
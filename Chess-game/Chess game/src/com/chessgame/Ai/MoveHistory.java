@@ -0,0 +1,114 @@
+package com.chessgame.Ai;
+
+import com.chessgame.Board.PackedMove;
+import com.chessgame.Board.Position;
+
+/**
+ * Quiet-move statistics one {@link Search} gathers for {@link MovePicker}:
+ * <ul>
+ * <li>two killer moves per ply: quiet moves that recently caused a cutoff at that ply;</li>
+ * <li>counter-moves: the quiet move that last refuted a given move, keyed by the moved
+ *     piece and target square of that move;</li>
+ * <li>butterfly history for board moves, keyed by side, from and to square;</li>
+ * <li>a separate history for drops, keyed by side, dropped piece type and square, since a
+ *     drop has no from square and pocket pieces behave unlike pieces on the board.</li>
+ * </ul>
+ * A quiet move causing a cutoff gains {@code depth * depth}; the quiet moves searched before
+ * it at that node lose as much. Updates decay towards zero as a score nears the limit, so
+ * scores stay within {@code +-HISTORY_MAX} without rescaling.
+ *
+ * A search reused for the next move keeps its statistics, aged by {@link #age()}.
+ *
+ * Not shared between threads: each search has its own.
+ */
+class MoveHistory {
+    static final int HISTORY_MAX = 1 << 14;
+
+    private final int[][] killers = new int[Search.MAX_PLY + 1][2];
+    private final int[][] counterMoves = new int[Position.PIECE_CODES][Position.SQUARES];
+    private final int[][][] butterfly = new int[2][Position.SQUARES][Position.SQUARES];
+    private final int[][][] drops = new int[2][Position.POCKET_TYPES][Position.SQUARES];
+
+    int killer(int ply, int slot) {
+        return killers[ply][slot];
+    }
+
+    /**
+     * The counter-move stored for the move that led to this node, or NONE.
+     */
+    int counterMove(int previousMove) {
+        if (previousMove == PackedMove.NONE) {
+            return PackedMove.NONE;
+        }
+        int moved = PackedMove.movedPiece(previousMove);
+        return moved == Position.NO_PIECE ? PackedMove.NONE : counterMoves[moved][PackedMove.to(previousMove)];
+    }
+
+    /**
+     * History score of a quiet move or drop of the given side.
+     */
+    int score(int move, boolean white) {
+        int color = white ? Position.WHITE : Position.BLACK;
+        if (PackedMove.isDrop(move)) {
+            return drops[color][PackedMove.dropType(move)][PackedMove.to(move)];
+        }
+        return butterfly[color][PackedMove.from(move)][PackedMove.to(move)];
+    }
+
+    /**
+     * Records that the quiet move {@code best} caused a cutoff at {@code ply}, after the
+     * first {@code triedCount} quiet moves in {@code tried} (which may include {@code best})
+     * failed to.
+     */
+    void update(int ply, int previousMove, int best, int depth, int[] tried, int triedCount, boolean white) {
+        if (!PackedMove.sameMove(killers[ply][0], best)) {
+            killers[ply][1] = killers[ply][0];
+            killers[ply][0] = best;
+        }
+        if (previousMove != PackedMove.NONE && PackedMove.movedPiece(previousMove) != Position.NO_PIECE) {
+            counterMoves[PackedMove.movedPiece(previousMove)][PackedMove.to(previousMove)] = best;
+        }
+        int bonus = Math.min(depth * depth, HISTORY_MAX / 4);
+        for (int i = 0; i < triedCount; i++) {
+            if (!PackedMove.sameMove(tried[i], best)) {
+                add(tried[i], -bonus, white);
+            }
+        }
+        add(best, bonus, white);
+    }
+
+    /**
+     * Prepares the statistics for a search from a new root. History scores are halved so
+     * the new search can outweigh them. Killers are cleared, because the same ply now lies
+     * at another point of the game. Counter-moves are kept.
+     */
+    void age() {
+        for (int[] ply : killers) {
+            ply[0] = PackedMove.NONE;
+            ply[1] = PackedMove.NONE;
+        }
+        for (int[][] side : butterfly) {
+            for (int[] from : side) {
+                for (int to = 0; to < from.length; to++) {
+                    from[to] /= 2;
+                }
+            }
+        }
+        for (int[][] side : drops) {
+            for (int[] type : side) {
+                for (int to = 0; to < type.length; to++) {
+                    type[to] /= 2;
+                }
+            }
+        }
+    }
+
+    private void add(int move, int bonus, boolean white) {
+        int color = white ? Position.WHITE : Position.BLACK;
+        int[] row = PackedMove.isDrop(move)
+                ? drops[color][PackedMove.dropType(move)]
+                : butterfly[color][PackedMove.from(move)];
+        int to = PackedMove.to(move);
+        row[to] += bonus - row[to] * Math.abs(bonus) / HISTORY_MAX;
+    }
+}
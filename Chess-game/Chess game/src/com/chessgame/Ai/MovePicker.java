@@ -0,0 +1,260 @@
+package com.chessgame.Ai;
+
+import com.chessgame.Board.MoveGenerator;
+import com.chessgame.Board.PackedMove;
+import com.chessgame.Board.Position;
+import com.chessgame.Board.See;
+
+/**
+ * Hands out the pseudo-legal moves of one node in search order, generating them in stages
+ * so that a node cut off early never generates the rest:
+ * <ol>
+ * <li>the hash move (checked for pseudo-legality, the table may hold a stale one);</li>
+ * <li>captures and promotions by MVV-LVA; captures that lose the exchange ({@link See})
+ *     are put aside;</li>
+ * <li>the two killer moves of the ply and the counter-move to the previous move;</li>
+ * <li>quiet moves and drops by their {@link MoveHistory} score;</li>
+ * <li>the captures put aside in step 2.</li>
+ * </ol>
+ * For the quiescence search a picker is started with {@link #initTactical} instead and
+ * hands out only captures, promotions and, if asked for, checking drops, by MVV-LVA.
+ *
+ * Each ply of a search owns one picker and its buffers, so no node allocates.
+ */
+class MovePicker {
+    private static final int STAGE_HASH = 0;
+    private static final int STAGE_CAPTURES_INIT = 1;
+    private static final int STAGE_GOOD_CAPTURES = 2;
+    private static final int STAGE_KILLER_1 = 3;
+    private static final int STAGE_KILLER_2 = 4;
+    private static final int STAGE_COUNTER_MOVE = 5;
+    private static final int STAGE_QUIETS_INIT = 6;
+    private static final int STAGE_QUIETS = 7;
+    private static final int STAGE_BAD_CAPTURES = 8;
+    private static final int STAGE_TACTICAL = 9;
+    private static final int STAGE_DONE = 10;
+
+    private static final int CAPTURE_SCORE = 1 << 16;
+    private static final int PROMOTION_SCORE = 1 << 15;
+    private static final int[] ORDER_VALUE = { 1, 3, 3, 5, 9, 100 };
+
+    private final int[] moves = new int[MoveGenerator.MAX_MOVES];
+    private final int[] scores = new int[MoveGenerator.MAX_MOVES];
+    private final int[] badCaptures = new int[MoveGenerator.MAX_MOVES];
+    private final int[] seeGain = See.newBuffer();
+
+    private Position position;
+    private MoveHistory history;
+    private boolean white;
+    private int stage;
+    private int index;
+    private int count;
+    private int badCount;
+    private int hashMove;
+    private int killer1;
+    private int killer2;
+    private int counterMove;
+
+    /**
+     * Starts a full node.
+     *
+     * @param hashMove     move to try first (from the table or the previous iteration's PV), or NONE
+     * @param previousMove move that led to this node, or NONE
+     */
+    void init(Position position, MoveHistory history, int hashMove, int ply, int previousMove) {
+        this.position = position;
+        this.history = history;
+        this.white = position.isWhiteToMove();
+        this.hashMove = MoveGenerator.isPseudoLegal(position, hashMove)
+                ? PackedMove.withPieces(position, hashMove) : PackedMove.NONE;
+        this.killer1 = history.killer(ply, 0);
+        this.killer2 = history.killer(ply, 1);
+        this.counterMove = history.counterMove(previousMove);
+        this.stage = STAGE_HASH;
+        this.badCount = 0;
+    }
+
+    /**
+     * Starts a quiescence node: captures and promotions, plus checking drops if asked for.
+     */
+    void initTactical(Position position, boolean checkingDrops) {
+        this.position = position;
+        this.count = MoveGenerator.generateTactical(position, checkingDrops, moves);
+        for (int i = 0; i < count; i++) {
+            scores[i] = tacticalScore(moves[i]);
+        }
+        this.index = 0;
+        this.stage = STAGE_TACTICAL;
+    }
+
+    /**
+     * The next move to search, or NONE when the node has no more.
+     */
+    int next() {
+        while (true) {
+            switch (stage) {
+                case STAGE_HASH:
+                    stage = STAGE_CAPTURES_INIT;
+                    if (hashMove != PackedMove.NONE) {
+                        return hashMove;
+                    }
+                    break;
+
+                case STAGE_CAPTURES_INIT:
+                    count = MoveGenerator.generateTactical(position, false, moves);
+                    for (int i = 0; i < count; i++) {
+                        scores[i] = tacticalScore(moves[i]);
+                    }
+                    index = 0;
+                    stage = STAGE_GOOD_CAPTURES;
+                    break;
+
+                case STAGE_GOOD_CAPTURES:
+                    while (index < count) {
+                        int move = pickNext();
+                        if (PackedMove.sameMove(move, hashMove)) continue;
+                        if (losesExchange(move)) {
+                            badCaptures[badCount++] = move;
+                            continue;
+                        }
+                        return move;
+                    }
+                    stage = STAGE_KILLER_1;
+                    break;
+
+                case STAGE_KILLER_1:
+                    stage = STAGE_KILLER_2;
+                    if (isUsableQuiet(killer1)) {
+                        return PackedMove.withPieces(position, killer1);
+                    }
+                    break;
+
+                case STAGE_KILLER_2:
+                    stage = STAGE_COUNTER_MOVE;
+                    if (!PackedMove.sameMove(killer2, killer1) && isUsableQuiet(killer2)) {
+                        return PackedMove.withPieces(position, killer2);
+                    }
+                    break;
+
+                case STAGE_COUNTER_MOVE:
+                    stage = STAGE_QUIETS_INIT;
+                    if (!PackedMove.sameMove(counterMove, killer1) && !PackedMove.sameMove(counterMove, killer2)
+                            && isUsableQuiet(counterMove)) {
+                        return PackedMove.withPieces(position, counterMove);
+                    }
+                    break;
+
+                case STAGE_QUIETS_INIT:
+                    count = MoveGenerator.generateQuiet(position, moves);
+                    for (int i = 0; i < count; i++) {
+                        scores[i] = history.score(moves[i], white);
+                    }
+                    index = 0;
+                    stage = STAGE_QUIETS;
+                    break;
+
+                case STAGE_QUIETS:
+                    while (index < count) {
+                        int move = pickNext();
+                        if (PackedMove.sameMove(move, hashMove) || PackedMove.sameMove(move, killer1)
+                                || PackedMove.sameMove(move, killer2) || PackedMove.sameMove(move, counterMove)) {
+                            continue;
+                        }
+                        return move;
+                    }
+                    index = 0;
+                    stage = STAGE_BAD_CAPTURES;
+                    break;
+
+                case STAGE_BAD_CAPTURES:
+                    if (index < badCount) {
+                        return badCaptures[index++];
+                    }
+                    stage = STAGE_DONE;
+                    break;
+
+                case STAGE_TACTICAL:
+                    if (index < count) {
+                        return pickNext();
+                    }
+                    stage = STAGE_DONE;
+                    break;
+
+                default:
+                    return PackedMove.NONE;
+            }
+        }
+    }
+
+    /**
+     * True if the move loses material in the exchange on its target square. A capture of a
+     * piece worth at least the capturer cannot, a promotion or other quiet move is not
+     * tested, and a drop is tested for hanging.
+     *
+     * @param gain scratch array from {@link See#newBuffer()}
+     */
+    static boolean losesExchange(Position position, int move, int[] gain) {
+        if (PackedMove.isDrop(move)) {
+            return !See.seeGe(position, move, 0, gain);
+        }
+        if (!PackedMove.isCapture(move) || PackedMove.promotionType(move) != 0) {
+            return false;
+        }
+        int attacker = Position.typeOf(PackedMove.movedPiece(move));
+        int victim = Position.typeOf(PackedMove.capturedPiece(move));
+        return ORDER_VALUE[attacker] > ORDER_VALUE[victim] && !See.seeGe(position, move, 0, gain);
+    }
+
+    /**
+     * {@link #losesExchange(Position, int, int[])} in the picker's position, using its buffer.
+     */
+    boolean losesExchange(int move) {
+        return losesExchange(position, move, seeGain);
+    }
+
+    /**
+     * A killer or counter-move is tried before the quiet moves are generated, so it must be
+     * a quiet move that is pseudo-legal here and not the hash move.
+     */
+    private boolean isUsableQuiet(int move) {
+        return move != PackedMove.NONE && !PackedMove.sameMove(move, hashMove)
+                && PackedMove.promotionType(move) == 0
+                && position.pieceAt(PackedMove.to(move)) == Position.NO_PIECE
+                && MoveGenerator.isPseudoLegal(position, move);
+    }
+
+    /**
+     * MVV-LVA for captures, then the promotion piece; checking drops come last.
+     */
+    private static int tacticalScore(int move) {
+        int score = 0;
+        if (PackedMove.isCapture(move)) {
+            int victim = Position.typeOf(PackedMove.capturedPiece(move));
+            int attacker = Position.typeOf(PackedMove.movedPiece(move));
+            score = CAPTURE_SCORE + ORDER_VALUE[victim] * 16 - ORDER_VALUE[attacker];
+        }
+        if (PackedMove.promotionType(move) != 0) {
+            score += PROMOTION_SCORE + ORDER_VALUE[PackedMove.promotionType(move)];
+        }
+        return score;
+    }
+
+    /**
+     * Selection step: swaps the highest-scored remaining move into slot {@code index} and
+     * returns it.
+     */
+    private int pickNext() {
+        int best = index;
+        for (int i = index + 1; i < count; i++) {
+            if (scores[i] > scores[best]) best = i;
+        }
+        int move = moves[best];
+        moves[best] = moves[index];
+        moves[index] = move;
+        int score = scores[best];
+        scores[best] = scores[index];
+        scores[index] = score;
+        index++;
+        return move;
+    }
+}
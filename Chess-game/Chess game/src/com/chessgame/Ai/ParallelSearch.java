@@ -0,0 +1,148 @@
+package com.chessgame.Ai;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.chessgame.Board.Position;
+
+/**
+ * Lazy SMP: runs one {@link Search} per thread on private copies of the root position,
+ * all sharing a single {@link TranspositionTable}. The threads do not coordinate beyond
+ * the table; helpers start at staggered depths so the table fills with work the main
+ * thread can reuse.
+ *
+ * The calling thread runs the main search. When it finishes (time or node budget) the
+ * helpers are stopped and the result of the deepest completed iteration is returned,
+ * preferring the main thread's result on equal depth. Node counts are summed over threads.
+ *
+ * The per-thread searches are created once and reused for every call, so their move
+ * ordering statistics and pawn caches carry over from move to move and a search allocates
+ * no new search state. Calls to {@link #search} are therefore serialized.
+ */
+public class ParallelSearch {
+    private final int threads;
+    private final TranspositionTable table;
+    private final ExecutorService helpers;
+    // searches[0] runs on the calling thread, the others on the helper threads
+    private final Search[] searches;
+
+    /**
+     * @param threads number of search threads including the caller (at least 1)
+     * @param table   transposition table shared by all threads
+     */
+    public ParallelSearch(int threads, TranspositionTable table) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Thread count must be at least 1: " + threads);
+        }
+        this.threads = threads;
+        this.table = table;
+        this.helpers = threads > 1
+                ? Executors.newFixedThreadPool(threads - 1, runnable -> {
+                    Thread t = new Thread(runnable, "search-helper");
+                    t.setDaemon(true);
+                    return t;
+                })
+                : null;
+        this.searches = new Search[threads];
+        for (int i = 0; i < threads; i++) {
+            searches[i] = new Search(new Position(), table);
+            searches[i].setHelperIndex(i);
+        }
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * Selective search techniques for all threads, see {@link Search#setPruning}.
+     */
+    public synchronized void setPruning(Set<Pruning> enabled) {
+        for (Search search : searches) {
+            search.setPruning(enabled);
+        }
+    }
+
+    /**
+     * Searches the root moves of {@code root} with all threads; same parameters as
+     * {@link Search#search}. The root position itself is not modified.
+     *
+     * @throws IllegalStateException if a helper search failed; its exception is the cause.
+     *         Also thrown if the calling thread was interrupted while waiting for the helpers;
+     *         its interrupt flag is then set again.
+     */
+    public synchronized SearchResult search(Position root, int[] rootMoves, long timeMillis, long maxNodes, int maxDepth) {
+        long start = System.currentTimeMillis();
+        table.newSearch();
+        for (Search search : searches) {
+            search.setPosition(root.copy());
+        }
+
+        List<Future<SearchResult>> futures = new ArrayList<>(threads - 1);
+        for (int i = 1; i < threads; i++) {
+            Search helper = searches[i];
+            futures.add(helpers.submit(() -> helper.search(rootMoves, timeMillis, 0, maxDepth)));
+        }
+
+        SearchResult best;
+        try {
+            best = searches[0].search(rootMoves, timeMillis, maxNodes, maxDepth);
+        } finally {
+            for (int i = 1; i < threads; i++) {
+                searches[i].stop();
+            }
+        }
+
+        // Wait for every helper before reporting a failure, so none is still running
+        long nodes = best.getNodes();
+        Throwable failure = null;
+        boolean interrupted = false;
+        for (Future<SearchResult> future : futures) {
+            SearchResult result = null;
+            while (true) {
+                try {
+                    result = future.get();
+                    break;
+                } catch (InterruptedException e) {
+                    // The helpers are already stopped, so keep waiting and interrupt afterwards
+                    interrupted = true;
+                } catch (ExecutionException e) {
+                    if (failure == null) {
+                        failure = e.getCause();
+                    }
+                    break;
+                }
+            }
+            if (result == null) continue;
+            nodes += result.getNodes();
+            if (result.getDepth() > best.getDepth()) {
+                best = result;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        if (failure != null) {
+            throw new IllegalStateException("Search helper failed", failure);
+        }
+        if (interrupted) {
+            throw new IllegalStateException("Interrupted while waiting for the search helpers");
+        }
+        return new SearchResult(best.getBestMove(), best.getScore(), best.getDepth(), nodes,
+                System.currentTimeMillis() - start, best.getPrincipalVariation());
+    }
+
+    /**
+     * Stops the helper threads; the instance cannot be used afterwards.
+     */
+    public void shutdown() {
+        if (helpers != null) {
+            helpers.shutdownNow();
+        }
+    }
+}
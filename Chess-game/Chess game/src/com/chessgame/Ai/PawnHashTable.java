@@ -0,0 +1,144 @@
+package com.chessgame.Ai;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-size cache of pawn structure evaluations, keyed by the position's pawn-only
+ * Zobrist key ({@code Position.getPawnKey()}). The pawns change on few moves, so sibling
+ * nodes and most of a search tree share a handful of structures.
+ *
+ * Each entry is two longs, the pawn key and a packed data word holding both sides' pawn
+ * scores and the files on which each side has pawns (for the rook file terms). The table
+ * is preallocated and always-replace; a probe allocates nothing.
+ *
+ * Not shared between threads: each {@link PositionEvaluator} has its own, so hits and
+ * misses are plain counters.
+ */
+public class PawnHashTable {
+    public static final int DEFAULT_SIZE_KB = 256;
+
+    private static final int LONGS_PER_ENTRY = 2;
+
+    // Data word layout: a valid bit, the two scores as signed 16-bit fields, the two file masks
+    private static final long VALID = 1L;
+    private static final int WHITE_SCORE_SHIFT = 1;
+    private static final int BLACK_SCORE_SHIFT = 17;
+    private static final int WHITE_FILES_SHIFT = 33;
+    private static final int BLACK_FILES_SHIFT = 41;
+    private static final long SCORE_MASK = 0xFFFFL;
+    private static final long FILES_MASK = 0xFFL;
+
+    private final long[] table;
+    private final int indexMask;
+
+    private long hits;
+    private long misses;
+
+    /**
+     * @param sizeKb table size in kilobytes, rounded down to a power-of-two number of entries
+     */
+    public PawnHashTable(int sizeKb) {
+        if (sizeKb <= 0) {
+            throw new IllegalArgumentException("Pawn hash table size must be positive: " + sizeKb);
+        }
+        long entries = Long.highestOneBit(sizeKb * 1024L / (8L * LONGS_PER_ENTRY));
+        this.table = new long[(int) (entries * LONGS_PER_ENTRY)];
+        this.indexMask = (int) entries - 1;
+    }
+
+    public void clear() {
+        Arrays.fill(table, 0L);
+        hits = 0;
+        misses = 0;
+    }
+
+    /**
+     * Looks up a pawn structure.
+     *
+     * @return the packed data word (read it with the static accessors), or 0 on a miss
+     */
+    public long probe(long pawnKey) {
+        int index = index(pawnKey);
+        long data = table[index + 1];
+        if (data != 0 && table[index] == pawnKey) {
+            hits++;
+            return data;
+        }
+        misses++;
+        return 0L;
+    }
+
+    /**
+     * Stores the evaluation of a pawn structure, replacing whatever the slot held.
+     *
+     * @param whiteFiles bit {@code f} set if White has a pawn on file {@code f}
+     * @param blackFiles the same for Black
+     * @return the stored data word
+     */
+    public long store(long pawnKey, int whiteScore, int blackScore, int whiteFiles, int blackFiles) {
+        long data = VALID
+                | ((whiteScore & SCORE_MASK) << WHITE_SCORE_SHIFT)
+                | ((blackScore & SCORE_MASK) << BLACK_SCORE_SHIFT)
+                | ((whiteFiles & FILES_MASK) << WHITE_FILES_SHIFT)
+                | ((blackFiles & FILES_MASK) << BLACK_FILES_SHIFT);
+        int index = index(pawnKey);
+        table[index] = pawnKey;
+        table[index + 1] = data;
+        return data;
+    }
+
+    private int index(long pawnKey) {
+        return ((int) (pawnKey ^ (pawnKey >>> 32)) & indexMask) * LONGS_PER_ENTRY;
+    }
+
+    //---------------------------------------------------------------------------------
+    // Data word accessors
+    //---------------------------------------------------------------------------------
+
+    public static int score(long data, boolean white) {
+        int shift = white ? WHITE_SCORE_SHIFT : BLACK_SCORE_SHIFT;
+        return (short) (data >>> shift);
+    }
+
+    /**
+     * Files on which the given side has pawns, as a mask with bit {@code f} for file {@code f}.
+     */
+    public static int files(long data, boolean white) {
+        int shift = white ? WHITE_FILES_SHIFT : BLACK_FILES_SHIFT;
+        return (int) ((data >>> shift) & FILES_MASK);
+    }
+
+    //---------------------------------------------------------------------------------
+    // Statistics
+    //---------------------------------------------------------------------------------
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Share of probes that hit, between 0 and 1 (0 before the first probe).
+     */
+    public double getHitRate() {
+        long probes = hits + misses;
+        return probes == 0 ? 0.0 : (double) hits / probes;
+    }
+
+    public int getSizeInEntries() {
+        return table.length / LONGS_PER_ENTRY;
+    }
+
+    @Override
+    public String toString() {
+        return "PawnHashTable{" +
+                "entries=" + getSizeInEntries() +
+                ", hits=" + getHits() +
+                ", misses=" + getMisses() +
+                ", hitRate=" + String.format("%.3f", getHitRate()) +
+                '}';
+    }
+}
@@ -0,0 +1,192 @@
+package com.chessgame.Ai;
+
+import com.chessgame.Board.Attacks;
+import com.chessgame.Board.Position;
+import com.chessgame.Pieces.Piece;
+
+/**
+ * Static evaluation of a {@link Position} for the search, scored from the point of view of
+ * the side to move (positive = good for the side to move), on the same scale as
+ * {@link EvaluationUtils} (material x 400 per point, mate = 100000).
+ *
+ * The terms mirror the ones evaluateBoard uses: material (pocket pieces count in full,
+ * since they can be dropped anywhere), the pieces' own position tables, bishop pair, pawn
+ * structure, rook files and king shelter. Material and position tables come from the
+ * accumulators the Position updates on every move and drop, doubled and isolated pawns
+ * from its per-file pawn counts; only passed pawns, rooks and the king shelter look at
+ * the board, and those through bitboards.
+ *
+ * The pawn terms depend on the pawns alone and are cached in a {@link PawnHashTable} by
+ * the position's pawn key, together with the files each side has pawns on, which is all
+ * the rook terms need. An evaluator is therefore not thread-safe; give each thread its own.
+ */
+public class PositionEvaluator {
+
+    private static final int BISHOP_PAIR = 100;
+    private static final int DOUBLED_PAWN = 25;
+    private static final int ISOLATED_PAWN = 30;
+    private static final int PASSED_PAWN = 50;
+    private static final int PASSED_PAWN_PER_ROW = 5;
+    private static final int ROOK_OPEN_FILE = 50;
+    private static final int ROOK_SEMI_OPEN_FILE = 25;
+    private static final int ROOK_SEVENTH_ROW = 20;
+    private static final int KING_SHIELD_PAWN = 20;
+    private static final int KING_IN_CENTER = 30;
+
+    private static final long FILE_A = 0x0101010101010101L;
+
+    private static final long[] FILES = new long[8];
+    private static final long[] ADJACENT_FILES = new long[8];
+    // Squares in front of a pawn on its own and adjacent files, [color][square]
+    private static final long[][] PASSED_MASK = new long[2][Position.SQUARES];
+
+    static {
+        for (int file = 0; file < 8; file++) {
+            FILES[file] = FILE_A << file;
+        }
+        for (int file = 0; file < 8; file++) {
+            ADJACENT_FILES[file] = (file > 0 ? FILES[file - 1] : 0L) | (file < 7 ? FILES[file + 1] : 0L);
+        }
+        for (int sq = 0; sq < Position.SQUARES; sq++) {
+            int file = Position.fileOf(sq);
+            int row = Position.rowOf(sq);
+            long span = FILES[file] | ADJACENT_FILES[file];
+            long whiteAhead = 0L;
+            long blackAhead = 0L;
+            for (int r = 0; r < 8; r++) {
+                long rowMask = 0xFFL << (8 * r);
+                if (r < row) whiteAhead |= rowMask;
+                if (r > row) blackAhead |= rowMask;
+            }
+            PASSED_MASK[Position.WHITE][sq] = span & whiteAhead;
+            PASSED_MASK[Position.BLACK][sq] = span & blackAhead;
+        }
+    }
+
+    private final PawnHashTable pawnTable;
+
+    public PositionEvaluator() {
+        this(PawnHashTable.DEFAULT_SIZE_KB);
+    }
+
+    /**
+     * @param pawnTableKb size of the pawn structure cache in kilobytes
+     */
+    public PositionEvaluator(int pawnTableKb) {
+        this.pawnTable = new PawnHashTable(pawnTableKb);
+    }
+
+    /**
+     * The pawn structure cache, for its hit statistics.
+     */
+    public PawnHashTable getPawnTable() {
+        return pawnTable;
+    }
+
+    /**
+     * Evaluates the position from the side to move's perspective.
+     */
+    public int evaluate(Position pos) {
+        long pawns = pawnStructure(pos);
+        int score = evaluateSide(pos, pawns, true) - evaluateSide(pos, pawns, false);
+        return pos.isWhiteToMove() ? score : -score;
+    }
+
+    /**
+     * The cached pawn structure entry of the position, evaluated and stored on a miss.
+     */
+    private long pawnStructure(Position pos) {
+        long key = pos.getPawnKey();
+        long data = pawnTable.probe(key);
+        if (data != 0) {
+            return data;
+        }
+        long whitePawns = pos.pieces(Piece.PAWN_INDEX, true);
+        long blackPawns = pos.pieces(Piece.PAWN_INDEX, false);
+        return pawnTable.store(key,
+                evaluatePawns(pos, whitePawns, blackPawns, true),
+                evaluatePawns(pos, blackPawns, whitePawns, false),
+                pawnFiles(pos, true), pawnFiles(pos, false));
+    }
+
+    private static int pawnFiles(Position pos, boolean white) {
+        int files = 0;
+        for (int file = 0; file < 8; file++) {
+            if (pos.pawnsOnFile(white, file) != 0) {
+                files |= 1 << file;
+            }
+        }
+        return files;
+    }
+
+    private int evaluateSide(Position pos, long pawnStructure, boolean white) {
+        // Material and position tables, kept up to date by the position
+        int score = pos.psqScore(white);
+
+        if (Long.bitCount(pos.pieces(Piece.BISHOP_INDEX, white)) >= 2) {
+            score += BISHOP_PAIR;
+        }
+
+        score += PawnHashTable.score(pawnStructure, white);
+        score += evaluateRooks(pos.pieces(Piece.ROOK_INDEX, white),
+                PawnHashTable.files(pawnStructure, white), PawnHashTable.files(pawnStructure, !white), white);
+        score += evaluateKing(pos, pos.pieces(Piece.PAWN_INDEX, white), white);
+        return score;
+    }
+
+    private int evaluatePawns(Position pos, long ownPawns, long enemyPawns, boolean white) {
+        int score = 0;
+        for (int file = 0; file < 8; file++) {
+            int onFile = pos.pawnsOnFile(white, file);
+            if (onFile == 0) continue;
+            if (onFile > 1) {
+                score -= (onFile - 1) * DOUBLED_PAWN;
+            }
+            if ((file == 0 || pos.pawnsOnFile(white, file - 1) == 0)
+                    && (file == 7 || pos.pawnsOnFile(white, file + 1) == 0)) {
+                score -= onFile * ISOLATED_PAWN;
+            }
+        }
+        long pawns = ownPawns;
+        int color = white ? Position.WHITE : Position.BLACK;
+        while (pawns != 0) {
+            int sq = Long.numberOfTrailingZeros(pawns);
+            pawns &= pawns - 1;
+            if ((PASSED_MASK[color][sq] & enemyPawns) == 0) {
+                int advance = white ? 6 - Position.rowOf(sq) : Position.rowOf(sq) - 1;
+                score += PASSED_PAWN + PASSED_PAWN_PER_ROW * Math.max(advance, 0);
+            }
+        }
+        return score;
+    }
+
+    private int evaluateRooks(long rooks, int ownPawnFiles, int enemyPawnFiles, boolean white) {
+        int score = 0;
+        int seventhRow = white ? 1 : 6;
+        while (rooks != 0) {
+            int sq = Long.numberOfTrailingZeros(rooks);
+            rooks &= rooks - 1;
+            int file = Position.fileOf(sq);
+            if ((ownPawnFiles & (1 << file)) == 0) {
+                score += (enemyPawnFiles & (1 << file)) == 0 ? ROOK_OPEN_FILE : ROOK_SEMI_OPEN_FILE;
+            }
+            if (Position.rowOf(sq) == seventhRow) {
+                score += ROOK_SEVENTH_ROW;
+            }
+        }
+        return score;
+    }
+
+    private int evaluateKing(Position pos, long ownPawns, boolean white) {
+        int king = pos.kingSquare(white);
+        if (king < 0) {
+            return 0;
+        }
+        int score = Long.bitCount(Attacks.king(king) & ownPawns) * KING_SHIELD_PAWN;
+        int file = Position.fileOf(king);
+        if (file >= 2 && file <= 5) {
+            score -= KING_IN_CENTER;
+        }
+        return score;
+    }
+}
@@ -0,0 +1,18 @@
+package com.chessgame.Ai;
+
+/**
+ * Selective search techniques of {@link Search}, each of which can be switched off on its
+ * own (all are on by default) to measure what it contributes.
+ */
+public enum Pruning {
+    /** Pass the move and search reduced; a fail-high proves the node is good enough. */
+    NULL_MOVE,
+    /** Search late quiet moves at reduced depth, and again at full depth if they fail high. */
+    LATE_MOVE_REDUCTIONS,
+    /** Skip quiet moves near the horizon that cannot bring the score up to alpha. */
+    FUTILITY,
+    /** Cut nodes near the horizon whose static evaluation is far above beta. */
+    REVERSE_FUTILITY,
+    /** Drop into quiescence at nodes near the horizon whose static evaluation is far below alpha. */
+    RAZORING
+}
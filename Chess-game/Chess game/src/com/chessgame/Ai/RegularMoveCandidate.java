@@ -2,6 +2,10 @@ package com.chessgame.Ai;
 
 import com.chessgame.Board.Board;
 import com.chessgame.Board.Move;
+import com.chessgame.Board.PackedMove;
+import com.chessgame.Board.Position;
+import com.chessgame.Pieces.King;
+import com.chessgame.Pieces.Pawn;
 import com.chessgame.Pieces.Piece;
 
 /**
@@ -33,6 +37,21 @@ public class RegularMoveCandidate implements MoveCandidate {
                 + move.getToX() + "," + move.getToY() + ")";
     }
     
+    @Override
+    public int getPackedMove(Board board) {
+        int from = Position.square(fromX, fromY);
+        int to = Position.square(move.getToX(), move.getToY());
+        Piece piece = board.getPiece(fromX, fromY);
+        // Pawns reaching the last row become queens, as in the game
+        if (piece instanceof Pawn && (move.getToY() == 0 || move.getToY() == 7)) {
+            return PackedMove.promotion(from, to, Piece.QUEEN_INDEX);
+        }
+        if (piece instanceof King && Math.abs(move.getToX() - fromX) == 2) {
+            return PackedMove.castle(from, to);
+        }
+        return PackedMove.move(from, to);
+    }
+
     // Getter for the move field
     public Move getMove() {
         return move;
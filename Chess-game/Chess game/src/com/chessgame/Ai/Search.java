@@ -0,0 +1,533 @@
+package com.chessgame.Ai;
+
+import com.chessgame.Board.MoveGenerator;
+import com.chessgame.Board.PackedMove;
+import com.chessgame.Board.PieceSquareTables;
+import com.chessgame.Board.Position;
+import com.chessgame.Pieces.Piece;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Negamax alpha-beta search over a {@link Position} with iterative deepening and
+ * aspiration windows. Regular moves and pocket drops are searched alike.
+ *
+ * The search stops when the time budget or node budget runs out (or {@link #stop()} is
+ * called) and returns the result of the deepest fully completed iteration. The root moves
+ * are supplied by the caller, so the game's own move list decides what may be played; the
+ * moves below the root come from {@link MoveGenerator}.
+ *
+ * At depth 0 a quiescence search resolves the tactics still pending: captures, promotions
+ * and, on its first ply, drops that give check. The side to move may stand pat on the
+ * static evaluation; captures that cannot raise the score to alpha (delta pruning) or
+ * that lose material in the exchange (SEE) are skipped, as are drops that hang.
+ * In check all evasions are searched.
+ *
+ * Moves after the first are searched with a null window and searched again with the full
+ * window only if they beat alpha (principal variation search). Away from the principal
+ * variation the tree is cut by the {@link Pruning} techniques, each of which can be
+ * switched off: null move, late move reductions, futility, reverse futility and razoring.
+ * Their margins are wide, since material in hand makes crazyhouse positions tactical; for
+ * the same reason zugzwang is rare and null move is only skipped for a side with nothing
+ * but king and pawns on the board and an empty pocket.
+ *
+ * Moves are {@link PackedMove} ints throughout. Each ply has its own {@link MovePicker},
+ * which hands out the hash move, good captures, killers and counter-move before it
+ * generates the quiet moves and drops, ordered by a {@link MoveHistory}; a node allocates
+ * nothing.
+ *
+ * Results are stored in a {@link TranspositionTable} keyed by the position's Zobrist key;
+ * a stored result that is deep enough cuts the node off, and its best move is searched first.
+ *
+ * A Search is meant to be kept and reused: {@link #setPosition} starts it on the next root
+ * with the move ordering statistics and pawn cache it has built up so far.
+ *
+ * Several searches can run at once on copies of the same position and share one table
+ * (see {@link ParallelSearch}). Helper searches start at staggered depths and try the root
+ * moves in a rotated order, so they fill the table with different parts of the tree.
+ */
+public class Search {
+    public static final int MATE_SCORE = 100000;
+    public static final int INFINITY = 1000000;
+    public static final int MAX_PLY = 64;
+
+    private static final int ASPIRATION_WINDOW = 200;
+    // Nodes between two checks of the clock
+    private static final int CHECK_INTERVAL = 2048;
+
+    // Quiet moves per node remembered for the history update
+    private static final int MAX_TRIED_QUIETS = 64;
+
+    // Selective search; depths are the remaining depth of the node, margins in
+    // PieceSquareTables units (400 = one pawn)
+    private static final int NULL_MOVE_MIN_DEPTH = 3;
+    private static final int NULL_MOVE_REDUCTION = 2;
+    private static final int REVERSE_FUTILITY_MAX_DEPTH = 3;
+    private static final int REVERSE_FUTILITY_MARGIN = 400;
+    private static final int RAZORING_MAX_DEPTH = 2;
+    private static final int[] RAZORING_MARGIN = { 0, 1200, 2000 };
+    private static final int FUTILITY_MAX_DEPTH = 3;
+    private static final int FUTILITY_MARGIN = 500;
+    private static final int LMR_MIN_DEPTH = 3;
+    // Moves searched at full depth before reductions start
+    private static final int LMR_FULL_DEPTH_MOVES = 3;
+    // Reduction by remaining depth and move number
+    private static final int[][] LMR_REDUCTION = new int[MAX_PLY + 1][64];
+
+    static {
+        for (int depth = 1; depth <= MAX_PLY; depth++) {
+            for (int moveNumber = 1; moveNumber < 64; moveNumber++) {
+                LMR_REDUCTION[depth][moveNumber] = (int) (0.75 + Math.log(depth) * Math.log(moveNumber) / 2.25);
+            }
+        }
+    }
+
+    // Quiescence: margin on top of a capture's gain before it is pruned, and the number
+    // of quiescence plies that also try checking drops
+    private static final int DELTA_MARGIN = 800;
+    private static final int CHECKING_DROP_PLIES = 1;
+
+    private Position position;
+    private final TranspositionTable table;
+    private final PositionEvaluator evaluator = new PositionEvaluator();
+
+    // Move ordering: one picker per ply, statistics for the whole search
+    private final MovePicker[] pickers = new MovePicker[MAX_PLY + 1];
+    private final MoveHistory history = new MoveHistory();
+    // Move played at each ply on the current line, for counter-moves
+    private final int[] currentMove = new int[MAX_PLY + 1];
+    private final int[][] triedQuiets = new int[MAX_PLY + 1][MAX_TRIED_QUIETS];
+
+    private final int[][] pvTable = new int[MAX_PLY + 1][MAX_PLY + 1];
+    private final int[] pvLength = new int[MAX_PLY + 1];
+    // Principal variation of the previous iteration, tried first at each ply
+    private int[] pvHint = new int[0];
+
+    private final EnumSet<Pruning> pruning = EnumSet.allOf(Pruning.class);
+
+    // 0 for the main search, 1.. for helper threads
+    private int helperIndex;
+
+    private long deadline;
+    private long nodeLimit;
+    private long nodes;
+    private volatile boolean stopRequested;
+    private boolean stopped;
+
+    /**
+     * @param position the position to search; it is modified during the search and
+     *                 restored before {@link #search} returns
+     * @param table    transposition table to use (may be shared with other searches)
+     */
+    public Search(Position position, TranspositionTable table) {
+        this.position = position;
+        this.table = table;
+        for (int ply = 0; ply <= MAX_PLY; ply++) {
+            pickers[ply] = new MovePicker();
+        }
+    }
+
+    /**
+     * Sets the position the next {@link #search} starts from, for reusing this search move
+     * after move. The move history is aged ({@link MoveHistory#age()}), the pawn cache is
+     * kept, and an earlier {@link #stop} request is cleared.
+     *
+     * @param position the new root; it is modified during the search and restored
+     *                 before {@link #search} returns
+     */
+    public void setPosition(Position position) {
+        this.position = position;
+        history.age();
+        stopRequested = false;
+    }
+
+    /**
+     * Makes this a helper search for Lazy SMP: {@code index} 1.. selects the depth offset
+     * and root move rotation; 0 (the default) is the main search.
+     */
+    public void setHelperIndex(int index) {
+        this.helperIndex = index;
+    }
+
+    /**
+     * Selects the selective search techniques to use; all are enabled by default.
+     */
+    public void setPruning(Set<Pruning> enabled) {
+        pruning.clear();
+        pruning.addAll(enabled);
+    }
+
+    /**
+     * Searches the given root moves.
+     *
+     * @param rootMoves   legal moves of the side to move (at least one)
+     * @param timeMillis  time budget in milliseconds, or 0 for none
+     * @param maxNodes    node budget, or 0 for none
+     * @param maxDepth    deepest iteration to start
+     * @return the result of the deepest completed iteration (depth 0 if none completed)
+     */
+    public SearchResult search(int[] rootMoves, long timeMillis, long maxNodes, int maxDepth) {
+        long start = System.currentTimeMillis();
+        deadline = timeMillis > 0 ? start + timeMillis : Long.MAX_VALUE;
+        nodeLimit = maxNodes > 0 ? maxNodes : Long.MAX_VALUE;
+        nodes = 0;
+        stopped = stopRequested;
+        pvHint = new int[0];
+
+        // The caller's moves need not carry their pieces; record them for move ordering
+        int[] moves = new int[rootMoves.length];
+        for (int i = 0; i < moves.length; i++) {
+            moves[i] = PackedMove.withPieces(position, rootMoves[i]);
+        }
+        rotate(moves, helperIndex);
+        int bestMove = moves[0];
+        int bestScore = 0;
+        int completedDepth = 0;
+        int[] bestPv = { bestMove };
+
+        // Helpers skip ahead by one or two plies so that threads work on different depths
+        int firstDepth = 1 + helperIndex % 3;
+        for (int depth = firstDepth; depth <= Math.min(maxDepth, MAX_PLY); depth++) {
+            int alphaDelta = ASPIRATION_WINDOW;
+            int betaDelta = ASPIRATION_WINDOW;
+            int alpha = completedDepth > 0 ? bestScore - alphaDelta : -INFINITY;
+            int beta = completedDepth > 0 ? bestScore + betaDelta : INFINITY;
+            int score;
+            while (true) {
+                score = searchRoot(moves, depth, alpha, beta);
+                if (stopped) break;
+                if (score <= alpha && alpha > -INFINITY) {
+                    alphaDelta *= 4;
+                    alpha = alphaDelta > MATE_SCORE ? -INFINITY : bestScore - alphaDelta;
+                } else if (score >= beta && beta < INFINITY) {
+                    betaDelta *= 4;
+                    beta = betaDelta > MATE_SCORE ? INFINITY : bestScore + betaDelta;
+                } else {
+                    break;
+                }
+            }
+            if (stopped) break;
+
+            bestScore = score;
+            bestMove = pvTable[0][0];
+            completedDepth = depth;
+            bestPv = new int[pvLength[0]];
+            System.arraycopy(pvTable[0], 0, bestPv, 0, pvLength[0]);
+            pvHint = bestPv;
+            moveToFront(moves, bestMove);
+
+            // A forced mate has been found; deeper iterations cannot improve on it
+            if (Math.abs(bestScore) >= MATE_SCORE - MAX_PLY) break;
+        }
+        return new SearchResult(bestMove, bestScore, completedDepth, nodes,
+                System.currentTimeMillis() - start, bestPv);
+    }
+
+    /**
+     * Asks the search to stop as soon as possible (may be called from another thread, also
+     * before {@link #search} has started). A stopped search stays stopped until
+     * {@link #setPosition} gives it a new root.
+     */
+    public void stop() {
+        stopRequested = true;
+    }
+
+    /**
+     * Nodes visited so far by the current or last search.
+     */
+    public long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Pawn structure cache of this search's evaluator, for its hit statistics.
+     */
+    public PawnHashTable getPawnTable() {
+        return evaluator.getPawnTable();
+    }
+
+    private int searchRoot(int[] moves, int depth, int alpha, int beta) {
+        pvLength[0] = 0;
+        int bestScore = -INFINITY;
+        boolean first = true;
+        for (int move : moves) {
+            currentMove[0] = move;
+            position.makeMove(move);
+            int score;
+            if (first) {
+                score = -negamax(depth - 1, 1, -beta, -alpha);
+                first = false;
+            } else {
+                score = -negamax(depth - 1, 1, -alpha - 1, -alpha);
+                if (score > alpha && score < beta && !stopped) {
+                    score = -negamax(depth - 1, 1, -beta, -alpha);
+                }
+            }
+            position.unmakeMove(move);
+            if (stopped) return 0;
+            if (score > bestScore) {
+                bestScore = score;
+                if (score > alpha) {
+                    alpha = score;
+                    updatePv(0, move);
+                }
+                if (score >= beta) break;
+            }
+        }
+        return bestScore;
+    }
+
+    private int negamax(int depth, int ply, int alpha, int beta) {
+        pvLength[ply] = ply;
+        if ((++nodes & (CHECK_INTERVAL - 1)) == 0) {
+            checkLimits();
+        }
+        if (stopped) return 0;
+        if (ply >= MAX_PLY) {
+            return evaluator.evaluate(position);
+        }
+        if (depth <= 0) {
+            return quiescence(ply, 0, alpha, beta);
+        }
+
+        long key = position.getKey();
+        long entry = table.probe(key);
+        int hashMove = PackedMove.NONE;
+        if (entry != 0) {
+            hashMove = TranspositionTable.move(entry);
+            if (TranspositionTable.depth(entry) >= depth) {
+                int stored = TranspositionTable.scoreFromTable(TranspositionTable.score(entry), ply);
+                int bound = TranspositionTable.bound(entry);
+                if (bound == TranspositionTable.BOUND_EXACT
+                        || (bound == TranspositionTable.BOUND_LOWER && stored >= beta)
+                        || (bound == TranspositionTable.BOUND_UPPER && stored <= alpha)) {
+                    return stored;
+                }
+            }
+        }
+
+        boolean white = position.isWhiteToMove();
+        boolean pvNode = beta - alpha > 1;
+        boolean inCheck = position.isInCheck(white);
+        int staticEval = inCheck ? -INFINITY : evaluator.evaluate(position);
+
+        if (!pvNode && !inCheck && Math.abs(beta) < MATE_SCORE - MAX_PLY) {
+            // Far above beta with little depth left: the opponent will not allow this
+            if (pruning.contains(Pruning.REVERSE_FUTILITY) && depth <= REVERSE_FUTILITY_MAX_DEPTH
+                    && staticEval - REVERSE_FUTILITY_MARGIN * depth >= beta) {
+                return staticEval;
+            }
+            // Far below alpha: only captures can save the node
+            if (pruning.contains(Pruning.RAZORING) && depth <= RAZORING_MAX_DEPTH
+                    && staticEval + RAZORING_MARGIN[depth] <= alpha) {
+                int score = quiescence(ply, 0, alpha, alpha + 1);
+                if (depth == 1 || score <= alpha) {
+                    return score;
+                }
+            }
+            // Even passing keeps us above beta; not twice in a row
+            if (pruning.contains(Pruning.NULL_MOVE) && depth >= NULL_MOVE_MIN_DEPTH && staticEval >= beta
+                    && currentMove[ply - 1] != PackedMove.NONE && position.hasNonPawnMaterial(white)) {
+                int reduction = NULL_MOVE_REDUCTION + depth / 4;
+                currentMove[ply] = PackedMove.NONE;
+                position.makeNullMove();
+                int score = -negamax(depth - 1 - reduction, ply + 1, -beta, -beta + 1);
+                position.unmakeNullMove();
+                if (stopped) return 0;
+                if (score >= beta) {
+                    return score >= MATE_SCORE - MAX_PLY ? beta : score;
+                }
+            }
+        }
+
+        if (hashMove == PackedMove.NONE && ply < pvHint.length) {
+            hashMove = pvHint[ply];
+        }
+        MovePicker picker = pickers[ply];
+        picker.init(position, history, hashMove, ply, currentMove[ply - 1]);
+        int[] quiets = triedQuiets[ply];
+        int quietCount = 0;
+        boolean futile = pruning.contains(Pruning.FUTILITY) && !pvNode && !inCheck
+                && depth <= FUTILITY_MAX_DEPTH && staticEval + FUTILITY_MARGIN * depth <= alpha;
+
+        int originalAlpha = alpha;
+        int bestScore = -INFINITY;
+        int bestMove = PackedMove.NONE;
+        int legalMoves = 0;
+        int move;
+        while ((move = picker.next()) != PackedMove.NONE) {
+            position.makeMove(move);
+            if (position.isInCheck(white)) {
+                position.unmakeMove(move);
+                continue;
+            }
+            legalMoves++;
+            boolean quiet = isQuiet(move);
+            boolean givesCheck = position.isInCheck(!white);
+            if (futile && quiet && !givesCheck && legalMoves > 1) {
+                position.unmakeMove(move);
+                continue;
+            }
+            if (quiet && quietCount < MAX_TRIED_QUIETS) {
+                quiets[quietCount++] = move;
+            }
+            currentMove[ply] = move;
+            int score;
+            if (legalMoves == 1) {
+                score = -negamax(depth - 1, ply + 1, -beta, -alpha);
+            } else {
+                int reduction = 0;
+                if (pruning.contains(Pruning.LATE_MOVE_REDUCTIONS) && depth >= LMR_MIN_DEPTH
+                        && legalMoves > LMR_FULL_DEPTH_MOVES && quiet && !inCheck && !givesCheck) {
+                    reduction = LMR_REDUCTION[Math.min(depth, MAX_PLY)][Math.min(legalMoves, 63)];
+                    if (pvNode) reduction--;
+                    reduction = Math.max(0, Math.min(reduction, depth - 2));
+                }
+                score = -negamax(depth - 1 - reduction, ply + 1, -alpha - 1, -alpha);
+                if (score > alpha && reduction > 0 && !stopped) {
+                    score = -negamax(depth - 1, ply + 1, -alpha - 1, -alpha);
+                }
+                if (score > alpha && score < beta && !stopped) {
+                    score = -negamax(depth - 1, ply + 1, -beta, -alpha);
+                }
+            }
+            position.unmakeMove(move);
+            if (stopped) return 0;
+            if (score > bestScore) {
+                bestScore = score;
+                bestMove = move;
+                if (score > alpha) {
+                    alpha = score;
+                    updatePv(ply, move);
+                }
+                if (score >= beta) {
+                    if (quiet) {
+                        history.update(ply, currentMove[ply - 1], move, depth, quiets, quietCount, white);
+                    }
+                    break;
+                }
+            }
+        }
+
+        if (legalMoves == 0) {
+            return inCheck ? -MATE_SCORE + ply : 0;
+        }
+        int bound = bestScore >= beta ? TranspositionTable.BOUND_LOWER
+                : bestScore > originalAlpha ? TranspositionTable.BOUND_EXACT
+                : TranspositionTable.BOUND_UPPER;
+        table.store(key, bound == TranspositionTable.BOUND_UPPER ? PackedMove.NONE : bestMove,
+                TranspositionTable.scoreToTable(bestScore, ply), depth, bound);
+        return bestScore;
+    }
+
+    /**
+     * Quiescence search; {@code qply} counts the plies since the main search ended.
+     */
+    private int quiescence(int ply, int qply, int alpha, int beta) {
+        pvLength[ply] = ply;
+        if ((++nodes & (CHECK_INTERVAL - 1)) == 0) {
+            checkLimits();
+        }
+        if (stopped) return 0;
+        if (ply >= MAX_PLY) {
+            return evaluator.evaluate(position);
+        }
+
+        boolean white = position.isWhiteToMove();
+        boolean inCheck = position.isInCheck(white);
+        MovePicker picker = pickers[ply];
+        int standPat = -INFINITY;
+        int bestScore = -INFINITY;
+        if (inCheck) {
+            // No standing pat in check: every evasion is searched, and none means mate
+            picker.init(position, history, PackedMove.NONE, ply, currentMove[ply - 1]);
+        } else {
+            standPat = evaluator.evaluate(position);
+            if (standPat >= beta) return standPat;
+            // Not even winning a queen and promoting would reach alpha
+            int maxGain = 2 * PieceSquareTables.MATERIAL[Piece.QUEEN_INDEX] + PieceSquareTables.MATERIAL[Piece.QUEEN_INDEX];
+            if (standPat + maxGain + DELTA_MARGIN < alpha) return standPat;
+            if (standPat > alpha) alpha = standPat;
+            bestScore = standPat;
+            picker.initTactical(position, qply < CHECKING_DROP_PLIES);
+        }
+
+        int legalMoves = 0;
+        int move;
+        while ((move = picker.next()) != PackedMove.NONE) {
+            if (!inCheck) {
+                if (PackedMove.isCapture(move) && PackedMove.promotionType(move) == 0
+                        && standPat + captureGain(move) + DELTA_MARGIN <= alpha) {
+                    continue;
+                }
+                if (picker.losesExchange(move)) continue;
+            }
+            position.makeMove(move);
+            if (position.isInCheck(white)) {
+                position.unmakeMove(move);
+                continue;
+            }
+            legalMoves++;
+            currentMove[ply] = move;
+            int score = -quiescence(ply + 1, qply + 1, -beta, -alpha);
+            position.unmakeMove(move);
+            if (stopped) return 0;
+            if (score > bestScore) {
+                bestScore = score;
+                if (score > alpha) {
+                    alpha = score;
+                    updatePv(ply, move);
+                }
+                if (score >= beta) break;
+            }
+        }
+        if (inCheck && legalMoves == 0) {
+            return -MATE_SCORE + ply;
+        }
+        return bestScore;
+    }
+
+    /**
+     * Material a capture wins: the victim leaves the board and joins the capturer's pocket.
+     */
+    private static int captureGain(int move) {
+        return 2 * PieceSquareTables.MATERIAL[Position.typeOf(PackedMove.capturedPiece(move))];
+    }
+
+    private static boolean isQuiet(int move) {
+        return !PackedMove.isCapture(move) && PackedMove.promotionType(move) == 0;
+    }
+
+    private void checkLimits() {
+        if (stopRequested || nodes >= nodeLimit || System.currentTimeMillis() >= deadline) {
+            stopped = true;
+        }
+    }
+
+    private void updatePv(int ply, int move) {
+        pvTable[ply][ply] = move;
+        int childLength = pvLength[ply + 1];
+        System.arraycopy(pvTable[ply + 1], ply + 1, pvTable[ply], ply + 1, childLength - (ply + 1));
+        pvLength[ply] = Math.max(childLength, ply + 1);
+    }
+
+    private static void rotate(int[] moves, int by) {
+        int shift = by % moves.length;
+        if (shift == 0) return;
+        int[] copy = moves.clone();
+        for (int i = 0; i < moves.length; i++) {
+            moves[i] = copy[(i + shift) % moves.length];
+        }
+    }
+
+    private static void moveToFront(int[] moves, int move) {
+        for (int i = 0; i < moves.length; i++) {
+            if (moves[i] == move) {
+                System.arraycopy(moves, 0, moves, 1, i);
+                moves[0] = move;
+                return;
+            }
+        }
+    }
+}
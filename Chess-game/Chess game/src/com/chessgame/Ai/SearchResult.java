@@ -0,0 +1,81 @@
+package com.chessgame.Ai;
+
+import com.chessgame.Board.PackedMove;
+
+/**
+ * Outcome of a {@link Search}: the best root move, its score from the searching side's
+ * point of view, the deepest completed iteration and the principal variation.
+ */
+public class SearchResult {
+    private final int bestMove;
+    private final int score;
+    private final int depth;
+    private final long nodes;
+    private final long timeMillis;
+    private final int[] principalVariation;
+
+    public SearchResult(int bestMove, int score, int depth, long nodes, long timeMillis, int[] principalVariation) {
+        this.bestMove = bestMove;
+        this.score = score;
+        this.depth = depth;
+        this.nodes = nodes;
+        this.timeMillis = timeMillis;
+        this.principalVariation = principalVariation;
+    }
+
+    public int getBestMove() {
+        return bestMove;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public long getNodes() {
+        return nodes;
+    }
+
+    public long getTimeMillis() {
+        return timeMillis;
+    }
+
+    /**
+     * Search speed over all threads.
+     */
+    public long getNodesPerSecond() {
+        return timeMillis > 0 ? nodes * 1000 / timeMillis : nodes;
+    }
+
+    public int[] getPrincipalVariation() {
+        return principalVariation.clone();
+    }
+
+    /**
+     * Principal variation in readable form, e.g. "(4,6)->(4,4) (4,1)->(4,3) Knight@(2,5)".
+     */
+    public String getPrincipalVariationString() {
+        StringBuilder sb = new StringBuilder();
+        for (int move : principalVariation) {
+            if (sb.length() > 0) sb.append(' ');
+            sb.append(PackedMove.toString(move));
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public String toString() {
+        return "SearchResult{" +
+                "bestMove=" + PackedMove.toString(bestMove) +
+                ", score=" + score +
+                ", depth=" + depth +
+                ", nodes=" + nodes +
+                ", time=" + timeMillis + "ms" +
+                ", nps=" + getNodesPerSecond() +
+                ", pv=" + getPrincipalVariationString() +
+                '}';
+    }
+}
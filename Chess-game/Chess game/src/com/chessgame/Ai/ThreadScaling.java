@@ -0,0 +1,89 @@
+package com.chessgame.Ai;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import com.chessgame.Board.Fen;
+import com.chessgame.Board.MoveGenerator;
+import com.chessgame.Board.Position;
+
+/**
+ * Nodes-per-second scaling of the Lazy SMP search ({@link ParallelSearch}): searches a fixed
+ * set of positions for a fixed time with 1, 2, 4, ... threads up to the given maximum and
+ * prints, per thread count, the nodes per second summed over all threads, the speedup over
+ * one thread and the average depth completed.
+ *
+ * <pre>
+ * java com.chessgame.Ai.ThreadScaling [maxThreads] [millis] [rounds]
+ * </pre>
+ *
+ * Each thread count gets its own ParallelSearch and table. Every position is searched
+ * {@code rounds} times, after one untimed round that warms up the JIT. Lazy SMP threads
+ * share the work through the table only, so the speedup in depth is below the nps speedup.
+ */
+public class ThreadScaling {
+    private static final int TABLE_SIZE_MB = 64;
+    // Opening, middlegame, drop-heavy and endgame
+    private static final String[] POSITIONS = {
+            Fen.START,
+            "r1bq1rk1/pp2bppp/2n1pn2/3p4/2PP4/2N1PN2/PP1B1PPP/R2QKB1R w KQ - 0 9",
+            "r2qk2r/ppp2ppp/2n1b3/3p4/3P4/2N1B3/PPP2PPP/R2QK2R[NBPPnbpp] w KQkq - 0 12",
+            "8/5k2/3p4/1p1P4/1P3K2/8/4R3/6r1 w - - 0 50"
+    };
+
+    public static void main(String[] args) {
+        int maxThreads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        long millis = args.length > 1 ? Long.parseLong(args[1]) : 1000;
+        int rounds = args.length > 2 ? Integer.parseInt(args[2]) : 3;
+
+        List<Integer> counts = new ArrayList<>();
+        for (int threads = 1; threads < maxThreads; threads *= 2) {
+            counts.add(threads);
+        }
+        counts.add(maxThreads);
+
+        System.out.println("threads        nps  speedup  depth");
+        double baseline = 0;
+        for (int threads : counts) {
+            double[] run = measure(threads, millis, rounds);
+            if (baseline == 0) {
+                baseline = run[0];
+            }
+            System.out.println(String.format(Locale.ROOT, "%7d %10.0f %8.2f %6.2f",
+                    threads, run[0], run[0] / baseline, run[1]));
+        }
+    }
+
+    /**
+     * Searches the positions with {@code threads} threads.
+     *
+     * @return the nodes per second and the average completed depth
+     */
+    static double[] measure(int threads, long millis, int rounds) {
+        TranspositionTable table = new TranspositionTable(TABLE_SIZE_MB);
+        ParallelSearch search = new ParallelSearch(threads, table);
+        try {
+            long nodes = 0;
+            long time = 0;
+            int depths = 0;
+            int searches = 0;
+            for (int round = -1; round < rounds; round++) {
+                for (String fen : POSITIONS) {
+                    Position root = Fen.parse(fen);
+                    table.clear();
+                    SearchResult result = search.search(root, MoveGenerator.generateLegal(root), millis, 0, Search.MAX_PLY);
+                    // Round -1 only warms up
+                    if (round < 0) continue;
+                    nodes += result.getNodes();
+                    time += result.getTimeMillis();
+                    depths += result.getDepth();
+                    searches++;
+                }
+            }
+            return new double[] { nodes * 1000.0 / Math.max(time, 1), (double) depths / searches };
+        } finally {
+            search.shutdown();
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package com.chessgame.Ai;
 
 import com.chessgame.Board.Board;
+import com.chessgame.Board.PackedMove;
+import com.chessgame.Board.Position;
+import com.chessgame.Game.ToolShed;
 import com.chessgame.Pieces.*;
 
 /**
@@ -32,6 +35,11 @@ public class TransplantMoveCandidate implements MoveCandidate {
         return "Transplant " + pieceName + " at (" + x + "," + y + ")";
     }
     
+    @Override
+    public int getPackedMove(Board board) {
+        return PackedMove.drop(ToolShed.getPieceTypeIndex(pieceName), Position.square(x, y));
+    }
+
     /**
      * Helper function to create an instance of a piece.
      *
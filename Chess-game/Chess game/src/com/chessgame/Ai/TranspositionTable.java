@@ -0,0 +1,229 @@
+package com.chessgame.Ai;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fixed-size transposition table shared by search threads, preallocated as one {@code long[]}.
+ *
+ * Each entry is two longs: a packed data word (best move, score, depth, bound, generation)
+ * and the position key XORed with that data word. Writes are plain stores without locks;
+ * a probe accepts an entry only if {@code check ^ data == key}, so an entry torn by two
+ * threads writing at once is simply treated as a miss.
+ *
+ * Entries are grouped in buckets of two. A store replaces the entry for the same key, else
+ * an entry from an older search (generation), else the shallower one.
+ */
+public class TranspositionTable {
+    public static final int BOUND_EXACT = 1;
+    public static final int BOUND_LOWER = 2;
+    public static final int BOUND_UPPER = 3;
+
+    public static final int DEFAULT_SIZE_MB = 32;
+
+    private static final int LONGS_PER_ENTRY = 2;
+    private static final int BUCKET_SIZE = 2;
+
+    // Data word layout
+    private static final int MOVE_BITS = 17;
+    private static final int SCORE_SHIFT = MOVE_BITS;
+    private static final int SCORE_BITS = 22;
+    private static final int DEPTH_SHIFT = SCORE_SHIFT + SCORE_BITS;
+    private static final int DEPTH_BITS = 8;
+    private static final int BOUND_SHIFT = DEPTH_SHIFT + DEPTH_BITS;
+    private static final int GENERATION_SHIFT = BOUND_SHIFT + 2;
+
+    private static final long MOVE_MASK = (1L << MOVE_BITS) - 1;
+    private static final long SCORE_MASK = (1L << SCORE_BITS) - 1;
+    private static final long DEPTH_MASK = (1L << DEPTH_BITS) - 1;
+    private static final int GENERATION_MASK = 0xFF;
+
+    private final long[] table;
+    private final int bucketMask;
+    private volatile int generation;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder collisions = new LongAdder();
+
+    /**
+     * @param sizeMb table size in megabytes, rounded down to a power-of-two number of buckets
+     */
+    public TranspositionTable(int sizeMb) {
+        if (sizeMb <= 0) {
+            throw new IllegalArgumentException("Transposition table size must be positive: " + sizeMb);
+        }
+        long bytesPerBucket = 8L * LONGS_PER_ENTRY * BUCKET_SIZE;
+        long buckets = Long.highestOneBit(sizeMb * 1024L * 1024L / bytesPerBucket);
+        this.table = new long[(int) (buckets * LONGS_PER_ENTRY * BUCKET_SIZE)];
+        this.bucketMask = (int) buckets - 1;
+    }
+
+    /**
+     * Starts a new search: entries stored from now on are preferred over older ones.
+     */
+    public void newSearch() {
+        generation = (generation + 1) & GENERATION_MASK;
+    }
+
+    public void clear() {
+        Arrays.fill(table, 0L);
+        generation = 0;
+        hits.reset();
+        misses.reset();
+        collisions.reset();
+    }
+
+    /**
+     * Looks up a position.
+     *
+     * @return the packed data word (read it with the static accessors), or 0 on a miss
+     */
+    public long probe(long key) {
+        int base = bucketIndex(key);
+        boolean occupied = false;
+        for (int i = 0; i < BUCKET_SIZE; i++) {
+            int index = base + i * LONGS_PER_ENTRY;
+            long data = table[index];
+            long check = table[index + 1];
+            if (data != 0 && (check ^ data) == key) {
+                hits.increment();
+                return data;
+            }
+            occupied |= data != 0;
+        }
+        misses.increment();
+        if (occupied) {
+            collisions.increment();
+        }
+        return 0L;
+    }
+
+    /**
+     * Stores a search result. Mate scores must already be converted with {@link #scoreToTable}.
+     */
+    public void store(long key, int move, int score, int depth, int bound) {
+        int gen = generation;
+        long data = (move & MOVE_MASK)
+                | ((score & SCORE_MASK) << SCORE_SHIFT)
+                | ((long) Math.max(depth, 0) << DEPTH_SHIFT)
+                | ((long) bound << BOUND_SHIFT)
+                | ((long) gen << GENERATION_SHIFT);
+
+        int base = bucketIndex(key);
+        int target = -1;
+        int worst = Integer.MAX_VALUE;
+        for (int i = 0; i < BUCKET_SIZE; i++) {
+            int index = base + i * LONGS_PER_ENTRY;
+            long old = table[index];
+            if (old == 0 || (table[index + 1] ^ old) == key) {
+                // Same position: keep the old best move if this result has none
+                if (old != 0 && move == 0) {
+                    data |= old & MOVE_MASK;
+                }
+                target = index;
+                break;
+            }
+            // Entries from older searches go first, then shallower ones
+            int value = depth(old) - (generation(old) == gen ? 0 : 256);
+            if (value < worst) {
+                worst = value;
+                target = index;
+            }
+        }
+        table[target] = data;
+        table[target + 1] = key ^ data;
+    }
+
+    private int bucketIndex(long key) {
+        return ((int) (key ^ (key >>> 32)) & bucketMask) * LONGS_PER_ENTRY * BUCKET_SIZE;
+    }
+
+    //---------------------------------------------------------------------------------
+    // Data word accessors
+    //---------------------------------------------------------------------------------
+
+    public static int move(long data) {
+        return (int) (data & MOVE_MASK);
+    }
+
+    public static int score(long data) {
+        // Sign-extend the score field
+        return (int) (data << (64 - SCORE_SHIFT - SCORE_BITS) >> (64 - SCORE_BITS));
+    }
+
+    public static int depth(long data) {
+        return (int) ((data >>> DEPTH_SHIFT) & DEPTH_MASK);
+    }
+
+    public static int bound(long data) {
+        return (int) ((data >>> BOUND_SHIFT) & 3);
+    }
+
+    private static int generation(long data) {
+        return (int) ((data >>> GENERATION_SHIFT) & GENERATION_MASK);
+    }
+
+    /**
+     * Mate scores are stored relative to the entry's node rather than the root, so they
+     * stay correct when the position is reached at a different ply.
+     */
+    public static int scoreToTable(int score, int ply) {
+        if (score >= Search.MATE_SCORE - Search.MAX_PLY) return score + ply;
+        if (score <= -Search.MATE_SCORE + Search.MAX_PLY) return score - ply;
+        return score;
+    }
+
+    public static int scoreFromTable(int score, int ply) {
+        if (score >= Search.MATE_SCORE - Search.MAX_PLY) return score - ply;
+        if (score <= -Search.MATE_SCORE + Search.MAX_PLY) return score + ply;
+        return score;
+    }
+
+    //---------------------------------------------------------------------------------
+    // Statistics
+    //---------------------------------------------------------------------------------
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Misses where the bucket held entries of other positions.
+     */
+    public long getCollisions() {
+        return collisions.sum();
+    }
+
+    public int getSizeInEntries() {
+        return table.length / LONGS_PER_ENTRY;
+    }
+
+    /**
+     * Permille of a sample of entries written during the current search.
+     */
+    public int hashfull() {
+        int sample = Math.min(1000, getSizeInEntries());
+        int used = 0;
+        for (int i = 0; i < sample; i++) {
+            long data = table[i * LONGS_PER_ENTRY];
+            if (data != 0 && generation(data) == generation) used++;
+        }
+        return sample == 0 ? 0 : used * 1000 / sample;
+    }
+
+    @Override
+    public String toString() {
+        return "TranspositionTable{" +
+                "entries=" + getSizeInEntries() +
+                ", hits=" + getHits() +
+                ", misses=" + getMisses() +
+                ", collisions=" + getCollisions() +
+                ", hashfull=" + hashfull() +
+                '}';
+    }
+}
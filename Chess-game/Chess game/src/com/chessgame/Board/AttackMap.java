@@ -0,0 +1,84 @@
+package com.chessgame.Board;
+
+import java.util.Arrays;
+
+import com.chessgame.Pieces.Piece;
+
+/**
+ * Attack maps of both sides for one {@link Position}: the squares each side attacks, the
+ * squares its pawns attack, and how many of its pieces attack each square. Attacks are
+ * what a piece would capture on, so pawns count their diagonals only, and squares holding
+ * a side's own pieces count as attacked (defended) by it.
+ *
+ * A map is owned by its position and read through {@link Position#attacks()}, which fills
+ * it from the bitboards the first time it is asked for after a change, so every reader of
+ * the same position shares one generation of the attacks.
+ */
+public final class AttackMap {
+    private final long[] attacks = new long[2];
+    private final long[] pawnAttacks = new long[2];
+    // Attacker counts, [color * 64 + square]
+    private final byte[] counts = new byte[2 * Position.SQUARES];
+
+    AttackMap() {
+    }
+
+    /**
+     * Regenerates both sides' attacks from the position's bitboards.
+     */
+    void compute(Position pos) {
+        Arrays.fill(counts, (byte) 0);
+        long occupied = pos.occupied();
+        for (int color = Position.WHITE; color <= Position.BLACK; color++) {
+            boolean white = color == Position.WHITE;
+            int base = color * Position.SQUARES;
+            long all = 0L;
+            long byPawns = 0L;
+            for (int type = Piece.PAWN_INDEX; type <= Piece.KING_INDEX; type++) {
+                long pieces = pos.pieces(type, white);
+                while (pieces != 0) {
+                    int sq = Long.numberOfTrailingZeros(pieces);
+                    pieces &= pieces - 1;
+                    long targets = type == Piece.PAWN_INDEX
+                            ? Attacks.pawn(white, sq)
+                            : Attacks.attacks(type, sq, occupied);
+                    if (type == Piece.PAWN_INDEX) {
+                        byPawns |= targets;
+                    }
+                    all |= targets;
+                    while (targets != 0) {
+                        counts[base + Long.numberOfTrailingZeros(targets)]++;
+                        targets &= targets - 1;
+                    }
+                }
+            }
+            attacks[color] = all;
+            pawnAttacks[color] = byPawns;
+        }
+    }
+
+    /**
+     * All squares the given side attacks.
+     */
+    public long attacks(boolean byWhite) {
+        return attacks[byWhite ? Position.WHITE : Position.BLACK];
+    }
+
+    /**
+     * Squares the given side's pawns attack.
+     */
+    public long pawnAttacks(boolean byWhite) {
+        return pawnAttacks[byWhite ? Position.WHITE : Position.BLACK];
+    }
+
+    public boolean isAttacked(int sq, boolean byWhite) {
+        return (attacks(byWhite) & Position.bit(sq)) != 0;
+    }
+
+    /**
+     * Number of the given side's pieces attacking {@code sq}.
+     */
+    public int attackerCount(int sq, boolean byWhite) {
+        return counts[(byWhite ? Position.WHITE : Position.BLACK) * Position.SQUARES + sq];
+    }
+}
@@ -0,0 +1,275 @@
+package com.chessgame.Board;
+
+import java.util.Random;
+
+import com.chessgame.Pieces.Piece;
+
+/**
+ * Precomputed attack tables for every piece type, indexed by {@link Position} square.
+ *
+ * Knight, king and pawn attacks are plain 64-entry lookups. Rook and bishop attacks use
+ * "fancy" magic bitboards: the relevant blockers of a square are multiplied by a magic
+ * number and shifted down to an index into a per-square table, so a slider's full attack
+ * set costs one multiply and one array read instead of a ray walk.
+ *
+ * The magic numbers are found once at class-load time with a fixed seed, so the tables
+ * are deterministic across runs.
+ */
+public final class Attacks {
+
+    private static final long[] KNIGHT = new long[Position.SQUARES];
+    private static final long[] KING = new long[Position.SQUARES];
+    // Capture targets of a pawn, [Position.WHITE|BLACK][square]
+    private static final long[][] PAWN = new long[2][Position.SQUARES];
+
+    private static final long[] ROOK_MASKS = new long[Position.SQUARES];
+    private static final long[] ROOK_MAGICS = new long[Position.SQUARES];
+    private static final int[] ROOK_SHIFTS = new int[Position.SQUARES];
+    private static final long[][] ROOK_TABLE = new long[Position.SQUARES][];
+
+    private static final long[] BISHOP_MASKS = new long[Position.SQUARES];
+    private static final long[] BISHOP_MAGICS = new long[Position.SQUARES];
+    private static final int[] BISHOP_SHIFTS = new int[Position.SQUARES];
+    private static final long[][] BISHOP_TABLE = new long[Position.SQUARES][];
+
+    // Squares strictly between two aligned squares, and the whole line through them; 0 if not aligned
+    private static final long[][] BETWEEN = new long[Position.SQUARES][Position.SQUARES];
+    private static final long[][] LINE = new long[Position.SQUARES][Position.SQUARES];
+
+    private static final int[][] ROOK_DIRECTIONS = { { 1, 0 }, { -1, 0 }, { 0, 1 }, { 0, -1 } };
+    private static final int[][] BISHOP_DIRECTIONS = { { 1, 1 }, { 1, -1 }, { -1, 1 }, { -1, -1 } };
+    private static final int[][] KNIGHT_STEPS = {
+        { 1, 2 }, { 2, 1 }, { 2, -1 }, { 1, -2 }, { -1, -2 }, { -2, -1 }, { -2, 1 }, { -1, 2 }
+    };
+
+    private static final long MAGIC_SEED = 0x43726179486F7573L;
+
+    static {
+        initLeaperTables();
+        Random random = new Random(MAGIC_SEED);
+        for (int sq = 0; sq < Position.SQUARES; sq++) {
+            initSlider(sq, ROOK_DIRECTIONS, ROOK_MASKS, ROOK_MAGICS, ROOK_SHIFTS, ROOK_TABLE, random);
+            initSlider(sq, BISHOP_DIRECTIONS, BISHOP_MASKS, BISHOP_MAGICS, BISHOP_SHIFTS, BISHOP_TABLE, random);
+        }
+        initLineTables();
+    }
+
+    private Attacks() {
+    }
+
+    //---------------------------------------------------------------------------------
+    // Lookups
+    //---------------------------------------------------------------------------------
+
+    public static long knight(int sq) {
+        return KNIGHT[sq];
+    }
+
+    public static long king(int sq) {
+        return KING[sq];
+    }
+
+    /**
+     * Squares a pawn of the given color standing on {@code sq} attacks diagonally.
+     */
+    public static long pawn(boolean isWhite, int sq) {
+        return PAWN[isWhite ? Position.WHITE : Position.BLACK][sq];
+    }
+
+    public static long rook(int sq, long occupied) {
+        long[] table = ROOK_TABLE[sq];
+        return table[(int) (((occupied & ROOK_MASKS[sq]) * ROOK_MAGICS[sq]) >>> ROOK_SHIFTS[sq])];
+    }
+
+    public static long bishop(int sq, long occupied) {
+        long[] table = BISHOP_TABLE[sq];
+        return table[(int) (((occupied & BISHOP_MASKS[sq]) * BISHOP_MAGICS[sq]) >>> BISHOP_SHIFTS[sq])];
+    }
+
+    public static long queen(int sq, long occupied) {
+        return rook(sq, occupied) | bishop(sq, occupied);
+    }
+
+    /**
+     * Attack set of a non-pawn piece of the given type index.
+     */
+    public static long attacks(int typeIndex, int sq, long occupied) {
+        switch (typeIndex) {
+            case Piece.KNIGHT_INDEX: return KNIGHT[sq];
+            case Piece.BISHOP_INDEX: return bishop(sq, occupied);
+            case Piece.ROOK_INDEX:   return rook(sq, occupied);
+            case Piece.QUEEN_INDEX:  return queen(sq, occupied);
+            case Piece.KING_INDEX:   return KING[sq];
+            default:                 return 0L;
+        }
+    }
+
+    /**
+     * Squares strictly between {@code a} and {@code b} if they share a row, column or
+     * diagonal, otherwise 0.
+     */
+    public static long between(int a, int b) {
+        return BETWEEN[a][b];
+    }
+
+    /**
+     * The full row, column or diagonal through {@code a} and {@code b} (edge to edge), or 0
+     * if they are not aligned.
+     */
+    public static long line(int a, int b) {
+        return LINE[a][b];
+    }
+
+    //---------------------------------------------------------------------------------
+    // Table construction
+    //---------------------------------------------------------------------------------
+
+    private static void initLeaperTables() {
+        for (int sq = 0; sq < Position.SQUARES; sq++) {
+            int x = Position.fileOf(sq);
+            int y = Position.rowOf(sq);
+            for (int[] step : KNIGHT_STEPS) {
+                KNIGHT[sq] |= bitIfOnBoard(x + step[0], y + step[1]);
+            }
+            for (int dx = -1; dx <= 1; dx++) {
+                for (int dy = -1; dy <= 1; dy++) {
+                    if (dx != 0 || dy != 0) {
+                        KING[sq] |= bitIfOnBoard(x + dx, y + dy);
+                    }
+                }
+            }
+            // White pawns advance towards row 0, Black pawns towards row 7
+            PAWN[Position.WHITE][sq] = bitIfOnBoard(x - 1, y - 1) | bitIfOnBoard(x + 1, y - 1);
+            PAWN[Position.BLACK][sq] = bitIfOnBoard(x - 1, y + 1) | bitIfOnBoard(x + 1, y + 1);
+        }
+    }
+
+    private static void initLineTables() {
+        int[][] directions = { { 1, 0 }, { -1, 0 }, { 0, 1 }, { 0, -1 }, { 1, 1 }, { 1, -1 }, { -1, 1 }, { -1, -1 } };
+        for (int a = 0; a < Position.SQUARES; a++) {
+            for (int[] d : directions) {
+                // Walk from a in direction d; every square reached is aligned with a
+                long ray = 0L;
+                int x = Position.fileOf(a) + d[0];
+                int y = Position.rowOf(a) + d[1];
+                while (x >= 0 && x <= 7 && y >= 0 && y <= 7) {
+                    int b = Position.square(x, y);
+                    BETWEEN[a][b] = ray;
+                    ray |= Position.bit(b);
+                    x += d[0];
+                    y += d[1];
+                }
+                // The line is this ray plus the opposite one plus a itself
+                long backward = 0L;
+                x = Position.fileOf(a) - d[0];
+                y = Position.rowOf(a) - d[1];
+                while (x >= 0 && x <= 7 && y >= 0 && y <= 7) {
+                    backward |= Position.bit(Position.square(x, y));
+                    x -= d[0];
+                    y -= d[1];
+                }
+                long line = ray | backward | Position.bit(a);
+                long targets = ray;
+                while (targets != 0) {
+                    int b = Long.numberOfTrailingZeros(targets);
+                    targets &= targets - 1;
+                    LINE[a][b] = line;
+                }
+            }
+        }
+    }
+
+    private static long bitIfOnBoard(int x, int y) {
+        if (x < 0 || x > 7 || y < 0 || y > 7) {
+            return 0L;
+        }
+        return Position.bit(Position.square(x, y));
+    }
+
+    private static void initSlider(int sq, int[][] directions, long[] masks, long[] magics,
+                                   int[] shifts, long[][] tables, Random random) {
+        long mask = relevantBlockers(sq, directions);
+        int bits = Long.bitCount(mask);
+        int size = 1 << bits;
+
+        // Enumerate every blocker subset of the mask (carry-rippler) with its attack set
+        long[] occupancies = new long[size];
+        long[] references = new long[size];
+        long subset = 0L;
+        for (int i = 0; i < size; i++) {
+            occupancies[i] = subset;
+            references[i] = slidingAttacks(sq, subset, directions);
+            subset = (subset - mask) & mask;
+        }
+
+        long[] table = new long[size];
+        int[] epoch = new int[size];
+        int attempt = 0;
+        while (true) {
+            long magic = random.nextLong() & random.nextLong() & random.nextLong();
+            if (Long.bitCount((mask * magic) & 0xFF00000000000000L) < 6) {
+                continue;
+            }
+            attempt++;
+            boolean ok = true;
+            for (int i = 0; i < size && ok; i++) {
+                int index = (int) ((occupancies[i] * magic) >>> (64 - bits));
+                if (epoch[index] < attempt) {
+                    epoch[index] = attempt;
+                    table[index] = references[i];
+                } else if (table[index] != references[i]) {
+                    ok = false;
+                }
+            }
+            if (ok) {
+                masks[sq] = mask;
+                magics[sq] = magic;
+                shifts[sq] = 64 - bits;
+                tables[sq] = table;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Squares along the rays whose occupancy can change the attack set (edges excluded).
+     */
+    private static long relevantBlockers(int sq, int[][] directions) {
+        long mask = 0L;
+        int x0 = Position.fileOf(sq);
+        int y0 = Position.rowOf(sq);
+        for (int[] d : directions) {
+            int x = x0 + d[0];
+            int y = y0 + d[1];
+            while (x + d[0] >= 0 && x + d[0] <= 7 && y + d[1] >= 0 && y + d[1] <= 7) {
+                mask |= Position.bit(Position.square(x, y));
+                x += d[0];
+                y += d[1];
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Reference ray walk used only while building the tables.
+     */
+    private static long slidingAttacks(int sq, long occupied, int[][] directions) {
+        long attacks = 0L;
+        int x0 = Position.fileOf(sq);
+        int y0 = Position.rowOf(sq);
+        for (int[] d : directions) {
+            int x = x0 + d[0];
+            int y = y0 + d[1];
+            while (x >= 0 && x <= 7 && y >= 0 && y <= 7) {
+                long b = Position.bit(Position.square(x, y));
+                attacks |= b;
+                if ((occupied & b) != 0) {
+                    break;
+                }
+                x += d[0];
+                y += d[1];
+            }
+        }
+        return attacks;
+    }
+}
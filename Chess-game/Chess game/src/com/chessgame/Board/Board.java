@@ -1,54 +1,107 @@
 package com.chessgame.Board;
 
+import java.util.AbstractList;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
 
-import com.chessgame.Game.Game;
+import com.chessgame.Pieces.King;
+import com.chessgame.Pieces.Pawn;
 import com.chessgame.Pieces.Piece;
+import com.chessgame.Pieces.Rook;
 
 /**
  * Represents a chess board.
+ * Pieces are kept in a square-indexed array (backed by a bitboard {@link Position})
+ * so lookups and updates are O(1) and allocation-free. The position's per-piece bitboards
+ * double as the piece lists of each side and type ({@link #getPieces}) and give the king
+ * squares ({@link #getKing}), so placing or removing a piece keeps them current at no
+ * extra cost.
+ *
+ * Besides the "official" updates used by the game, the board supports reversible
+ * {@link #makeMove}/{@link #unmakeMove} and {@link #makeDrop}/{@link #unmakeDrop}, so legality
+ * checks and search can try a move in place and restore the exact previous state.
  */
 public class Board implements Cloneable {
     public static final int ROWS = 8;
     public static final int COLUMNS = 8;
+    // Deepest make/unmake nesting supported without growing the undo stack
+    private static final int INITIAL_UNDO_DEPTH = 64;
 
-    // Stores pieces by key (x,y)
-    private Map<String, Piece> boardMap;
+    // Piece objects by square index (y * 8 + x)
+    private Piece[] squares;
+    // Dense list of the pieces on the board, plus each square's slot in it for O(1) removal
+    private Piece[] pieceList;
+    private int pieceCount;
+    private int[] slotOfSquare;
+    private int[] squareOfSlot;
+    private List<Piece> pieceView;
+    // Bitboard mirror of the placement and the pocket counts
+    private Position position;
+
+    private UndoEntry[] undoStack;
+    private int undoTop;
 
     // Constructor
     public Board() {
-        boardMap = new HashMap<>();
+        initStorage();
+        position = new Position();
+    }
+
+    private void initStorage() {
+        squares = new Piece[ROWS * COLUMNS];
+        // One spare slot: movePiece briefly holds the moving piece on both squares
+        pieceList = new Piece[ROWS * COLUMNS + 1];
+        pieceCount = 0;
+        slotOfSquare = new int[ROWS * COLUMNS];
+        squareOfSlot = new int[ROWS * COLUMNS + 1];
+        pieceView = new PieceView();
+        undoStack = new UndoEntry[INITIAL_UNDO_DEPTH];
+        undoTop = 0;
     }
 
-    // Helper method to create a key for the HashMap
-    private String getKey(int x, int y) {
-        return x + "," + y;
+    private static boolean onBoard(int x, int y) {
+        return x >= 0 && x < COLUMNS && y >= 0 && y < ROWS;
     }
 
     // Sets a piece on the board at the given coordinates.
     public void setPieceIntoBoard(int x, int y, Piece piece) {
-        String key = getKey(x, y);
-        if (piece != null) {
-            boardMap.put(key, piece);
-            // Optionally, update the piece's coordinates
-            piece.setXcord(x);
-            piece.setYcord(y);
+        if (piece == null) {
+            removePieceAt(x, y);
+            return;
+        }
+        int sq = Position.square(x, y);
+        if (squares[sq] != null) {
+            squares[sq] = piece;
+            pieceList[slotOfSquare[sq]] = piece;
+            position.put(sq, Position.codeOf(piece));
         } else {
-            boardMap.remove(key);
+            attach(sq, piece, pieceCount);
         }
+        // Optionally, update the piece's coordinates
+        piece.setXcord(x);
+        piece.setYcord(y);
     }
 
     // Retrieves a piece from the board at the specified coordinates.
     public Piece getPiece(int x, int y) {
-        return boardMap.get(getKey(x, y));
+        if (!onBoard(x, y)) {
+            return null;
+        }
+        return squares[Position.square(x, y)];
     }
 
     // Removes a piece from the board at the given coordinates.
     public void removePieceAt(int x, int y) {
-        String key = getKey(x, y);
-        boardMap.remove(key);
+        if (!onBoard(x, y)) {
+            return;
+        }
+        int sq = Position.square(x, y);
+        if (squares[sq] != null) {
+            detach(sq);
+        }
     }
 
     // Moves a piece from one position to another (without creating a Move object)
@@ -60,6 +113,258 @@ public class Board implements Cloneable {
         }
     }
 
+    //---------------------------------------------------------------------------------
+    // Low-level placement (keeps the piece list, squares and Position in sync)
+    //---------------------------------------------------------------------------------
+
+    /**
+     * Places a piece on an empty square at the given list slot. If the slot is in use,
+     * its current piece is moved to the end of the list (the inverse of {@link #detach}).
+     */
+    private void attach(int sq, Piece piece, int slot) {
+        if (slot < pieceCount) {
+            Piece displaced = pieceList[slot];
+            int displacedSq = squareOfSlot[slot];
+            pieceList[pieceCount] = displaced;
+            squareOfSlot[pieceCount] = displacedSq;
+            slotOfSquare[displacedSq] = pieceCount;
+        }
+        pieceCount++;
+        pieceList[slot] = piece;
+        squareOfSlot[slot] = sq;
+        slotOfSquare[sq] = slot;
+        squares[sq] = piece;
+        position.put(sq, Position.codeOf(piece));
+    }
+
+    /**
+     * Removes the piece on an occupied square, swapping the last list entry into its slot.
+     *
+     * @return the list slot the piece occupied
+     */
+    private int detach(int sq) {
+        int slot = slotOfSquare[sq];
+        int lastSlot = --pieceCount;
+        if (slot != lastSlot) {
+            int lastSq = squareOfSlot[lastSlot];
+            pieceList[slot] = pieceList[lastSlot];
+            squareOfSlot[slot] = lastSq;
+            slotOfSquare[lastSq] = slot;
+        }
+        pieceList[lastSlot] = null;
+        squares[sq] = null;
+        position.remove(sq);
+        return slot;
+    }
+
+    /**
+     * Moves the piece on {@code from} to the empty square {@code to}, keeping its list slot.
+     */
+    private void relocate(int from, int to) {
+        Piece piece = squares[from];
+        int slot = slotOfSquare[from];
+        squares[from] = null;
+        squares[to] = piece;
+        slotOfSquare[to] = slot;
+        squareOfSlot[slot] = to;
+        position.move(from, to);
+        piece.setXcord(Position.fileOf(to));
+        piece.setYcord(Position.rowOf(to));
+    }
+
+    //---------------------------------------------------------------------------------
+    // Reversible moves
+    //---------------------------------------------------------------------------------
+
+    private UndoEntry pushUndo() {
+        if (undoTop == undoStack.length) {
+            undoStack = Arrays.copyOf(undoStack, undoStack.length * 2);
+        }
+        UndoEntry entry = undoStack[undoTop];
+        if (entry == null) {
+            entry = new UndoEntry();
+            undoStack[undoTop] = entry;
+        }
+        undoTop++;
+        entry.reset();
+        return entry;
+    }
+
+    /**
+     * Plays a move in place so that it can be taken back with {@link #unmakeMove()}.
+     * Handles captures (crediting the mover's pocket), castling, en passant captures and the
+     * move-dependent flags of the moved piece. Unlike Piece.makeMove it touches no game state
+     * (piece lists, ToolShed panels) and does not check that the move is pseudo-legal.
+     * Pawn promotion is left to the caller, as in the game.
+     */
+    public void makeMove(int fromX, int fromY, int toX, int toY) {
+        int from = Position.square(fromX, fromY);
+        int to = Position.square(toX, toY);
+        Piece piece = squares[from];
+        UndoEntry u = pushUndo();
+        u.fromSq = from;
+        u.toSq = to;
+        u.moved = piece;
+        u.movedState = piece.getMoveState();
+
+        // Capture: normal, or en passant when a pawn moves diagonally onto an empty square
+        int capSq = to;
+        if (squares[to] == null && piece instanceof Pawn && fromX != toX) {
+            capSq = Position.square(toX, fromY);
+        }
+        Piece captured = squares[capSq];
+        if (captured != null) {
+            u.captured = captured;
+            u.capturedSq = capSq;
+            u.capturedSlot = detach(capSq);
+            if (!(captured instanceof King)) {
+                u.pocketType = captured.getPieceTypeIndex();
+                position.addToPocket(piece.isWhite(), u.pocketType);
+            }
+        }
+
+        relocate(from, to);
+
+        // Castling, detected the same way King.makeMove does: an unmoved king landing next to
+        // (short) or two files from (long) the unmoved corner rook on its side
+        if (piece instanceof King && !((King) piece).hasMoved()) {
+            int rookRow = piece.isWhite() ? ROWS - 1 : 0;
+            int rookFromX = toX >= fromX ? COLUMNS - 1 : 0;
+            Piece rook = squares[Position.square(rookFromX, rookRow)];
+            if (rook instanceof Rook && !((Rook) rook).HasMoved()
+                    && (toX == rookFromX - 1 || toX == rookFromX + 2)) {
+                int rookToX = (toX == 6) ? toX - 1 : toX + 1;
+                u.rook = rook;
+                u.rookFromSq = Position.square(rookFromX, rookRow);
+                u.rookToSq = Position.square(rookToX, rookRow);
+                u.rookState = rook.getMoveState();
+                if (squares[u.rookToSq] == null) {
+                    relocate(u.rookFromSq, u.rookToSq);
+                } else {
+                    // Nothing to move when the rook already stands on its castled square
+                    u.rookToSq = u.rookFromSq;
+                }
+                ((Rook) rook).setHasMoved(true);
+            }
+        }
+
+        piece.updateMoveState(fromX, fromY, toX, toY);
+    }
+
+    /**
+     * Takes back the last {@link #makeMove}, restoring pieces, list order, flags and pockets.
+     */
+    public void unmakeMove() {
+        UndoEntry u = undoStack[--undoTop];
+        if (u.drop) {
+            throw new IllegalStateException("Last reversible change was a drop");
+        }
+        if (u.rook != null) {
+            if (u.rookToSq != u.rookFromSq) {
+                relocate(u.rookToSq, u.rookFromSq);
+            }
+            u.rook.setMoveState(u.rookState);
+        }
+        relocate(u.toSq, u.fromSq);
+        u.moved.setMoveState(u.movedState);
+        if (u.captured != null) {
+            attach(u.capturedSq, u.captured, u.capturedSlot);
+            u.captured.setXcord(Position.fileOf(u.capturedSq));
+            u.captured.setYcord(Position.rowOf(u.capturedSq));
+            if (u.pocketType >= 0) {
+                position.removeFromPocket(u.moved.isWhite(), u.pocketType);
+            }
+        }
+        u.reset();
+    }
+
+    /**
+     * Drops a piece from its owner's pocket onto an empty square, reversibly.
+     * The piece object may come from anywhere (e.g. a reusable probe piece); the pocket count
+     * of its type is debited.
+     */
+    public void makeDrop(Piece piece, int x, int y) {
+        int sq = Position.square(x, y);
+        UndoEntry u = pushUndo();
+        u.drop = true;
+        u.toSq = sq;
+        u.moved = piece;
+        u.pocketType = piece.getPieceTypeIndex();
+        attach(sq, piece, pieceCount);
+        piece.setXcord(x);
+        piece.setYcord(y);
+        position.removeFromPocket(piece.isWhite(), u.pocketType);
+    }
+
+    /**
+     * Takes back the last {@link #makeDrop}.
+     */
+    public void unmakeDrop() {
+        UndoEntry u = undoStack[--undoTop];
+        if (!u.drop) {
+            throw new IllegalStateException("Last reversible change was not a drop");
+        }
+        detach(u.toSq);
+        position.addToPocket(u.moved.isWhite(), u.pocketType);
+        u.reset();
+    }
+
+    /**
+     * Returns the bitboard view of this board (placement and pocket counts).
+     */
+    public Position getPosition() {
+        return position;
+    }
+
+    /**
+     * Returns an independent copy of the position for search, with the side to move set,
+     * castling rights derived from unmoved kings and rooks on their home squares and the
+     * en passant square taken from a pawn of the side that just moved flagged as having
+     * made a double step.
+     */
+    public Position snapshot(boolean whiteToMove) {
+        Position snapshot = position.copy();
+        snapshot.setWhiteToMove(whiteToMove);
+        snapshot.setCastlingRights(getCastlingRights());
+        int doubleStepRow = whiteToMove ? 3 : 4;
+        for (int x = 0; x < COLUMNS; x++) {
+            Piece p = squares[Position.square(x, doubleStepRow)];
+            if (p instanceof Pawn && p.isWhite() != whiteToMove && ((Pawn) p).isMoved2Squares()) {
+                snapshot.setEnPassantSquare(Position.square(x, whiteToMove ? 2 : 5));
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * Castling rights ({@link Position#CASTLE_WHITE_SHORT} etc.) of the pieces on the board:
+     * a right is kept while the king and that rook are unmoved on their home squares.
+     */
+    public int getCastlingRights() {
+        int rights = 0;
+        if (isUnmovedKing(Position.WHITE_KING_HOME)) {
+            if (isUnmovedRook(Position.WHITE_KING_HOME + 3)) rights |= Position.CASTLE_WHITE_SHORT;
+            if (isUnmovedRook(Position.WHITE_KING_HOME - 4)) rights |= Position.CASTLE_WHITE_LONG;
+        }
+        if (isUnmovedKing(Position.BLACK_KING_HOME)) {
+            if (isUnmovedRook(Position.BLACK_KING_HOME + 3)) rights |= Position.CASTLE_BLACK_SHORT;
+            if (isUnmovedRook(Position.BLACK_KING_HOME - 4)) rights |= Position.CASTLE_BLACK_LONG;
+        }
+        return rights;
+    }
+
+    private boolean isUnmovedKing(int sq) {
+        Piece p = squares[sq];
+        return p instanceof King && !((King) p).hasMoved()
+                && p.isWhite() == (sq == Position.WHITE_KING_HOME);
+    }
+
+    private boolean isUnmovedRook(int sq) {
+        Piece p = squares[sq];
+        return p instanceof Rook && !((Rook) p).HasMoved()
+                && p.isWhite() == (Position.rowOf(sq) == 7);
+    }
+
     /**
      * Updates the board state after an "official" move.
      * Creates a Move object, stores it in the move stack,
@@ -81,7 +386,6 @@ public class Board implements Cloneable {
 
         // 3. Remove the captured piece from the board (if it exists)
         if (captured != null) {
-            Game.AllPieces.remove(captured);
             removePieceAt(toX, toY);
         }
 
@@ -100,12 +404,12 @@ public class Board implements Cloneable {
     public Board clone() {
         try {
             Board clonedBoard = (Board) super.clone();
-            // Create a new HashMap for the cloned board
-            clonedBoard.boardMap = new HashMap<>();
+            clonedBoard.initStorage();
+            // Pocket counts carry over; placement is rebuilt below
+            clonedBoard.position = position.copy();
             // Deep clone each piece
-            for (Map.Entry<String, Piece> entry : boardMap.entrySet()) {
-                Piece originalPiece = entry.getValue();
-                Piece clonedPiece = originalPiece.clone();
+            for (int i = 0; i < pieceCount; i++) {
+                Piece clonedPiece = pieceList[i].clone();
                 // Use setPieceIntoBoard to ensure coordinates are updated correctly
                 clonedBoard.setPieceIntoBoard(clonedPiece.getXcord(), clonedPiece.getYcord(), clonedPiece);
             }
@@ -137,8 +441,73 @@ public class Board implements Cloneable {
      * Returns a collection of all pieces currently on the board.
      */
     public Collection<Piece> getAllPieces() {
-        return boardMap.values();
+        return pieceView;
+    }
+
+    /**
+     * The pieces of one side, in square order. The set is read from the position's
+     * bitboard when an iteration starts; the caller may make and unmake moves while
+     * iterating as long as each is taken back before the next piece is fetched.
+     */
+    public Iterable<Piece> getPieces(boolean isWhite) {
+        return () -> new PieceIterator(position.colorMask(isWhite));
+    }
+
+    /**
+     * The pieces of one side and {@code Piece.*_INDEX} type, like {@link #getPieces(boolean)}.
+     */
+    public Iterable<Piece> getPieces(int typeIndex, boolean isWhite) {
+        return () -> new PieceIterator(position.pieces(typeIndex, isWhite));
+    }
+
+    /**
+     * The king of the given side, or null if it has none on the board.
+     */
+    public King getKing(boolean isWhite) {
+        int sq = position.kingSquare(isWhite);
+        return sq < 0 ? null : (King) squares[sq];
+    }
+
+    /**
+     * Walks the squares of a bitboard, returning the piece on each.
+     */
+    private class PieceIterator implements Iterator<Piece> {
+        private long remaining;
+
+        PieceIterator(long mask) {
+            this.remaining = mask;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return remaining != 0;
+        }
+
+        @Override
+        public Piece next() {
+            if (remaining == 0) {
+                throw new NoSuchElementException();
+            }
+            int sq = Long.numberOfTrailingZeros(remaining);
+            remaining &= remaining - 1;
+            return squares[sq];
+        }
+    }
+
+    /**
+     * Live read-only list view over the piece array. It has no concurrent-modification check,
+     * so callers may make and unmake moves while iterating: unmake restores the exact order.
+     */
+    private class PieceView extends AbstractList<Piece> {
+        @Override
+        public Piece get(int index) {
+            return pieceList[index];
+        }
+
+        @Override
+        public int size() {
+            return pieceCount;
+        }
     }
-    
     
 }
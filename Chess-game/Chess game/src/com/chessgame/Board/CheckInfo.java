@@ -0,0 +1,153 @@
+package com.chessgame.Board;
+
+import com.chessgame.Pieces.Piece;
+
+/**
+ * Check and pin information for one side of a {@link Position}, computed once so that the
+ * legality of any of that side's moves can be decided without playing it:
+ * <ul>
+ * <li>a pinned piece may only move along the line through its king and the pinner;</li>
+ * <li>in check, other pieces must capture the checker or step between it and the king,
+ *     and in double check only the king may move;</li>
+ * <li>the king may go to any square the enemy does not attack once the king has left
+ *     its square (so it cannot retreat along a checking ray).</li>
+ * </ul>
+ * En passant, whose captured pawn is not on the target square, is not covered; the game
+ * never produces it.
+ *
+ * The information is only valid until the position changes.
+ */
+public final class CheckInfo {
+    private final Position position;
+    private final boolean white;
+    private final int king;
+    private final long checkers;
+    private final long pinned;
+    private final long evasionTargets;
+    private final long blockSquares;
+
+    /**
+     * Computes the information for the pieces of the given color.
+     */
+    public CheckInfo(Position position, boolean white) {
+        this.position = position;
+        this.white = white;
+        this.king = position.kingSquare(white);
+        if (king < 0) {
+            // No king to protect: everything is legal
+            checkers = 0L;
+            pinned = 0L;
+            evasionTargets = ~0L;
+            blockSquares = ~0L;
+            return;
+        }
+        long occupied = position.occupied();
+        checkers = position.attackersTo(king, !white, occupied);
+        pinned = computePinned(occupied);
+
+        int checkCount = Long.bitCount(checkers);
+        if (checkCount == 0) {
+            evasionTargets = ~0L;
+            blockSquares = ~0L;
+        } else if (checkCount == 1) {
+            long between = Attacks.between(king, Long.numberOfTrailingZeros(checkers));
+            evasionTargets = checkers | between;
+            blockSquares = between;
+        } else {
+            evasionTargets = 0L;
+            blockSquares = 0L;
+        }
+    }
+
+    // Own pieces that are the only piece between the king and an enemy slider
+    private long computePinned(long occupied) {
+        long own = position.colorMask(white);
+        long enemyQueens = position.pieces(Piece.QUEEN_INDEX, !white);
+        long snipers = (Attacks.rook(king, 0L) & (position.pieces(Piece.ROOK_INDEX, !white) | enemyQueens))
+                | (Attacks.bishop(king, 0L) & (position.pieces(Piece.BISHOP_INDEX, !white) | enemyQueens));
+        long result = 0L;
+        while (snipers != 0) {
+            int sniper = Long.numberOfTrailingZeros(snipers);
+            snipers &= snipers - 1;
+            long blockers = Attacks.between(king, sniper) & occupied;
+            if (blockers != 0 && (blockers & (blockers - 1)) == 0 && (blockers & own) != 0) {
+                result |= blockers;
+            }
+        }
+        return result;
+    }
+
+    public int getKingSquare() {
+        return king;
+    }
+
+    /**
+     * Enemy pieces giving check.
+     */
+    public long getCheckers() {
+        return checkers;
+    }
+
+    public boolean isInCheck() {
+        return checkers != 0;
+    }
+
+    public boolean isDoubleCheck() {
+        return (checkers & (checkers - 1)) != 0;
+    }
+
+    /**
+     * Own pieces pinned to the king.
+     */
+    public long getPinned() {
+        return pinned;
+    }
+
+    /**
+     * Squares a piece other than the king may move to: everything when not in check, the
+     * checker and the squares between it and the king in single check, nothing in double check.
+     */
+    public long getEvasionTargets() {
+        return evasionTargets;
+    }
+
+    /**
+     * Squares a dropped piece may land on (if empty): everything when not in check, only the
+     * squares between king and checker in single check, nothing in double check or when the
+     * checker is adjacent or a knight or pawn.
+     */
+    public long getBlockSquares() {
+        return blockSquares;
+    }
+
+    /**
+     * Squares a pinned piece on {@code from} may move to (all squares if it is not pinned).
+     */
+    public long pinRestriction(int from) {
+        return (pinned & Position.bit(from)) == 0 ? ~0L : Attacks.line(king, from);
+    }
+
+    /**
+     * True if the king can stand on {@code sq} without being attacked, once it has left its
+     * current square.
+     */
+    public boolean isKingSafeOn(int sq) {
+        long occupied = position.occupied() & ~Position.bit(king);
+        return position.attackersTo(sq, !white, occupied) == 0;
+    }
+
+    /**
+     * Legality of a pseudo-legal move from {@code from} to {@code to} by this side. A king
+     * move of two squares is castling: the king may not be in check or pass an attacked square.
+     */
+    public boolean isLegal(int from, int to) {
+        if (from == king) {
+            if (Math.abs(to - from) == 2) {
+                return checkers == 0 && isKingSafeOn((from + to) / 2) && isKingSafeOn(to);
+            }
+            return isKingSafeOn(to);
+        }
+        long target = Position.bit(to);
+        return (evasionTargets & target) != 0 && (pinRestriction(from) & target) != 0;
+    }
+}
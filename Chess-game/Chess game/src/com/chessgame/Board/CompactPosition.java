@@ -0,0 +1,131 @@
+package com.chessgame.Board;
+
+import com.chessgame.Pieces.Piece;
+
+/**
+ * Immutable, compact snapshot of a {@link Position}, for keeping many positions around
+ * (game history, caches, test suites) without the working state of a full position: its
+ * mailbox, accumulators, attack maps and undo stack.
+ *
+ * The placement is seven bitboards (White's pieces and the six piece types), the ten pocket
+ * counts are packed five bits each into one long, and side to move, castling rights and
+ * en passant square share one int. With the Zobrist key that is nine longs and an int,
+ * under 100 bytes per snapshot on a 64-bit JVM.
+ *
+ * {@link #toPosition()} rebuilds an equivalent working position. Snapshots compare equal
+ * when they describe the same position.
+ */
+public final class CompactPosition {
+    private static final int POCKET_BITS = 5;
+    private static final long POCKET_MASK = (1L << POCKET_BITS) - 1;
+
+    // State word layout: side to move, four castling bits, en passant square + 1
+    private static final int WHITE_TO_MOVE = 1;
+    private static final int CASTLING_SHIFT = 1;
+    private static final int EN_PASSANT_SHIFT = 5;
+
+    private final long white;
+    private final long pawns;
+    private final long knights;
+    private final long bishops;
+    private final long rooks;
+    private final long queens;
+    private final long kings;
+    private final long pockets;
+    private final long key;
+    private final int state;
+
+    CompactPosition(Position pos) {
+        this.white = pos.colorMask(true);
+        this.pawns = typeMask(pos, Piece.PAWN_INDEX);
+        this.knights = typeMask(pos, Piece.KNIGHT_INDEX);
+        this.bishops = typeMask(pos, Piece.BISHOP_INDEX);
+        this.rooks = typeMask(pos, Piece.ROOK_INDEX);
+        this.queens = typeMask(pos, Piece.QUEEN_INDEX);
+        this.kings = typeMask(pos, Piece.KING_INDEX);
+        long packed = 0L;
+        for (int slot = 0; slot < 2 * Position.POCKET_TYPES; slot++) {
+            int count = pos.pocketCount(slot < Position.POCKET_TYPES, slot % Position.POCKET_TYPES);
+            if (count > POCKET_MASK) {
+                throw new IllegalStateException("Pocket count too large to pack: " + count);
+            }
+            packed |= (long) count << (slot * POCKET_BITS);
+        }
+        this.pockets = packed;
+        this.state = (pos.isWhiteToMove() ? WHITE_TO_MOVE : 0)
+                | (pos.getCastlingRights() << CASTLING_SHIFT)
+                | ((pos.getEnPassantSquare() + 1) << EN_PASSANT_SHIFT);
+        this.key = pos.getKey();
+    }
+
+    private static long typeMask(Position pos, int typeIndex) {
+        return pos.pieces(typeIndex, true) | pos.pieces(typeIndex, false);
+    }
+
+    /**
+     * Rebuilds a working position equal to the one this snapshot was taken from.
+     */
+    public Position toPosition() {
+        Position pos = new Position();
+        long[] types = { pawns, knights, bishops, rooks, queens, kings };
+        for (int type = Piece.PAWN_INDEX; type <= Piece.KING_INDEX; type++) {
+            long pieces = types[type];
+            while (pieces != 0) {
+                int sq = Long.numberOfTrailingZeros(pieces);
+                pieces &= pieces - 1;
+                pos.put(sq, Position.code(type, (white & Position.bit(sq)) != 0));
+            }
+        }
+        for (int slot = 0; slot < 2 * Position.POCKET_TYPES; slot++) {
+            pos.setPocketCount(slot < Position.POCKET_TYPES, slot % Position.POCKET_TYPES,
+                    pocketCount(slot));
+        }
+        pos.setWhiteToMove(isWhiteToMove());
+        pos.setCastlingRights(getCastlingRights());
+        pos.setEnPassantSquare(getEnPassantSquare());
+        return pos;
+    }
+
+    private int pocketCount(int slot) {
+        return (int) ((pockets >>> (slot * POCKET_BITS)) & POCKET_MASK);
+    }
+
+    public int pocketCount(boolean isWhite, int typeIndex) {
+        return pocketCount((isWhite ? 0 : Position.POCKET_TYPES) + typeIndex);
+    }
+
+    public boolean isWhiteToMove() {
+        return (state & WHITE_TO_MOVE) != 0;
+    }
+
+    public int getCastlingRights() {
+        return (state >>> CASTLING_SHIFT) & 0xF;
+    }
+
+    public int getEnPassantSquare() {
+        return (state >>> EN_PASSANT_SHIFT) - 1;
+    }
+
+    /**
+     * Zobrist key of the position, as {@link Position#getKey()} returned it.
+     */
+    public long getKey() {
+        return key;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof CompactPosition)) return false;
+        CompactPosition other = (CompactPosition) o;
+        return key == other.key && state == other.state && pockets == other.pockets
+                && white == other.white && pawns == other.pawns && knights == other.knights
+                && bishops == other.bishops && rooks == other.rooks && queens == other.queens
+                && kings == other.kings;
+    }
+
+    @Override
+    public int hashCode() {
+        return (int) (key ^ (key >>> 32));
+    }
+}
@@ -0,0 +1,101 @@
+package com.chessgame.Board;
+
+import com.chessgame.Pieces.Piece;
+
+/**
+ * Reads FEN strings into a {@link Position}; the Swing game loads its positions with it too
+ * ({@code Game.loadPosition}).
+ *
+ * The format: piece placement (rank 8 first, which is row 0 of the Board), optionally
+ * followed by the pockets in brackets, then side to move, castling rights and en passant
+ * square, e.g.
+ * {@code "r1bqkb1r/pppp1ppp/2n2n2/4p3/4P3/5N2/PPPP1PPP/RNBQKB1R[Pn] w KQkq - 0 4"}.
+ * Upper-case pocket letters belong to White, lower-case to Black. Missing trailing fields
+ * default to White to move, no castling and no en passant square.
+ */
+public final class Fen {
+    public static final String START = "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1";
+    private static final String PIECE_LETTERS = "pnbrqk";
+
+    private Fen() {
+    }
+
+    /**
+     * Parses a FEN string.
+     *
+     * @throws IllegalArgumentException if the string is not a valid FEN
+     */
+    public static Position parse(String fen) {
+        String[] parts = fen.trim().split("\\s+");
+        String placement = parts[0];
+        String pocket = "";
+        int bracket = placement.indexOf('[');
+        if (bracket >= 0) {
+            int close = placement.indexOf(']', bracket);
+            if (close < 0) {
+                throw new IllegalArgumentException("Unclosed pocket in FEN: " + fen);
+            }
+            pocket = placement.substring(bracket + 1, close);
+            placement = placement.substring(0, bracket);
+        }
+
+        Position pos = new Position();
+        int row = 0, col = 0;
+        for (char c : placement.toCharArray()) {
+            if (c == '/') {
+                row++;
+                col = 0;
+            } else if (Character.isDigit(c)) {
+                col += c - '0';
+            } else {
+                if (row > 7 || col > 7) {
+                    throw new IllegalArgumentException("Placement runs off the board in FEN: " + fen);
+                }
+                pos.put(Position.square(col, row), Position.code(typeOf(c, fen), Character.isUpperCase(c)));
+                col++;
+            }
+        }
+
+        for (char c : pocket.toCharArray()) {
+            int type = typeOf(c, fen);
+            if (type == Piece.KING_INDEX) {
+                throw new IllegalArgumentException("King in pocket in FEN: " + fen);
+            }
+            pos.addToPocket(Character.isUpperCase(c), type);
+        }
+
+        pos.setWhiteToMove(parts.length < 2 || parts[1].equals("w"));
+        if (parts.length > 2) {
+            pos.setCastlingRights(parseCastling(parts[2]));
+        }
+        if (parts.length > 3 && !parts[3].equals("-")) {
+            pos.setEnPassantSquare(parseSquare(parts[3], fen));
+        }
+        return pos;
+    }
+
+    private static int typeOf(char letter, String fen) {
+        int type = PIECE_LETTERS.indexOf(Character.toLowerCase(letter));
+        if (type < 0) {
+            throw new IllegalArgumentException("Unknown piece '" + letter + "' in FEN: " + fen);
+        }
+        return type;
+    }
+
+    private static int parseCastling(String field) {
+        int rights = 0;
+        if (field.indexOf('K') >= 0) rights |= Position.CASTLE_WHITE_SHORT;
+        if (field.indexOf('Q') >= 0) rights |= Position.CASTLE_WHITE_LONG;
+        if (field.indexOf('k') >= 0) rights |= Position.CASTLE_BLACK_SHORT;
+        if (field.indexOf('q') >= 0) rights |= Position.CASTLE_BLACK_LONG;
+        return rights;
+    }
+
+    private static int parseSquare(String name, String fen) {
+        if (name.length() != 2 || name.charAt(0) < 'a' || name.charAt(0) > 'h'
+                || name.charAt(1) < '1' || name.charAt(1) > '8') {
+            throw new IllegalArgumentException("Bad square '" + name + "' in FEN: " + fen);
+        }
+        return Position.square(name.charAt(0) - 'a', '8' - name.charAt(1));
+    }
+}
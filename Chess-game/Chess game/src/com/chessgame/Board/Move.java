@@ -1,14 +1,12 @@
 package com.chessgame.Board;
 
 import com.chessgame.Pieces.Piece;
-import com.chessgame.Game.ToolShed;
 
 /**
  * Represents a single move in the game, including information about:
  *  - From and to coordinates (fromX, fromY, toX, toY)
  *  - Which piece moved (piece)
  *  - Which piece was captured (capturedPiece), if any
- *  - To which ToolShed the captured piece is added (toolShed), if applicable
  *  - Optionally: whether the move is a transplant move (transplantMove)
  *    and which piece was transplanted (transplantedPieceName)
  */
@@ -18,34 +16,12 @@ public class Move implements Comparable<Move> {
     private int toX, toY;
     private Piece piece;           // The piece that moved
     private Piece capturedPiece;   // The captured piece (if any)
-    private ToolShed toolShed;     // The tool shed of the capturing player (if applicable)
 
     // --- Optional fields in case of a "transplant" move ---
     private boolean transplantMove;
     private String transplantedPieceName;
 
     /**
-     * Full constructor - includes reference to the ToolShed.
-     *
-     * @param fromX    starting row coordinate
-     * @param fromY    starting column coordinate
-     * @param toX      destination row coordinate
-     * @param toY      destination column coordinate
-     * @param piece    the piece that is moving
-     * @param toolShed the tool shed where a captured piece might be stored
-     */
-    public Move(int fromX, int fromY, int toX, int toY, Piece piece, ToolShed toolShed) {
-        this.fromX = fromX;
-        this.fromY = fromY;
-        this.toX = toX;
-        this.toY = toY;
-        this.piece = piece;
-        this.toolShed = toolShed;
-    }
-
-    /**
-     * Constructor without ToolShed (if not needed).
-     *
      * @param fromX starting row coordinate
      * @param fromY starting column coordinate
      * @param toX   destination row coordinate
@@ -53,7 +29,11 @@ public class Move implements Comparable<Move> {
      * @param piece the piece that is moving
      */
     public Move(int fromX, int fromY, int toX, int toY, Piece piece) {
-        this(fromX, fromY, toX, toY, piece, null);
+        this.fromX = fromX;
+        this.fromY = fromY;
+        this.toX = toX;
+        this.toY = toY;
+        this.piece = piece;
     }
 
     //---------------------------------------------------------------------------------
@@ -108,14 +88,6 @@ public class Move implements Comparable<Move> {
         this.capturedPiece = capturedPiece;
     }
 
-    public ToolShed getToolShed() {
-        return toolShed;
-    }
-
-    public void setToolShed(ToolShed toolShed) {
-        this.toolShed = toolShed;
-    }
-
     public boolean isTransplantMove() {
         return transplantMove;
     }
@@ -137,8 +109,7 @@ public class Move implements Comparable<Move> {
     //---------------------------------------------------------------------------------
 
     /**
-     * Helper method that applies the move on the board,
-     * and adds the captured piece (if any) to the tool shed (if a toolShed exists).
+     * Helper method that applies the move on the board, removing the captured piece (if any).
      *
      * @param board the chess board on which to perform the move
      */
@@ -147,9 +118,6 @@ public class Move implements Comparable<Move> {
         capturedPiece = board.getPiece(toX, toY);
         if (capturedPiece != null) {
             board.removePieceAt(toX, toY); // Remove the captured piece from the board
-            if (toolShed != null) {
-                toolShed.addCapturedPiece(capturedPiece); // Add captured piece to the tool shed
-            }
         }
         // Move the piece
         board.movePiece(fromX, fromY, toX, toY);
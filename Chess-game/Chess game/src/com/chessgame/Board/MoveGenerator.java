@@ -0,0 +1,411 @@
+package com.chessgame.Board;
+
+import com.chessgame.Pieces.Piece;
+
+/**
+ * Move generator for a {@link Position}, writing {@link PackedMove}s into a caller-supplied
+ * buffer. Two flavours share the same stages (pawns, pieces, king, castling, drops):
+ * <ul>
+ * <li>{@link #generate} writes pseudo-legal moves; moves that leave the mover's king
+ *     attacked are included and must be filtered by the caller after making them;</li>
+ * <li>{@link #generateLegal(Position, int[])} writes only legal moves. Checkers and pinned
+ *     pieces are computed once ({@link CheckInfo}); every stage is then restricted by
+ *     target masks (check evasions, pin lines, block squares for drops), and only king
+ *     moves need an attack test. No move is made and taken back.</li>
+ * </ul>
+ * {@link #generateTactical} and {@link #generateQuiet} split the pseudo-legal moves in two
+ * for staged move ordering; {@link #isPseudoLegal} checks a move remembered from another
+ * position (hash move, killers) without generating anything. {@link #hasLegalMove} decides
+ * mate and stalemate by stopping at the first legal move or drop.
+ *
+ * Drops are generated for every pocket piece onto every empty square, with pawns limited
+ * to rows 1-6 like ToolShed transplants. Pawns promote to any of the four piece types.
+ * Every move carries its moved and captured piece ({@link PackedMove#withPieces}).
+ */
+public final class MoveGenerator {
+    // Upper bound on moves in one position, including up to five pocket types on every square
+    public static final int MAX_MOVES = 768;
+
+    private static final long ROW_0 = 0x00000000000000FFL;
+    private static final long ROW_7 = 0xFF00000000000000L;
+    // Rows 1-6, the squares a pawn may be dropped on
+    private static final long PAWN_DROP_ROWS = ~(ROW_0 | ROW_7);
+    // Starting rows of the pawns (White on row 6, Black on row 1)
+    private static final long WHITE_PAWN_ROW = 0x00FF000000000000L;
+    private static final long BLACK_PAWN_ROW = 0x000000000000FF00L;
+
+    private MoveGenerator() {
+    }
+
+    /**
+     * Writes all pseudo-legal moves and drops of the side to move into {@code moves}
+     * and returns how many were written.
+     */
+    public static int generate(Position pos, int[] moves) {
+        boolean white = pos.isWhiteToMove();
+        int count = generatePawnMoves(pos, white, ~0L, null, moves, 0);
+        count = generatePieceMoves(pos, white, ~0L, null, moves, count);
+        count = generateKingMoves(pos, white, ~0L, null, moves, count);
+        count = generateCastling(pos, white, moves, count);
+        return generateDrops(pos, white, ~0L, moves, count);
+    }
+
+    /**
+     * Writes the legal moves and drops of the side to move into {@code moves} and returns
+     * how many were written. In check only evasions are generated.
+     */
+    public static int generateLegal(Position pos, int[] moves) {
+        boolean white = pos.isWhiteToMove();
+        CheckInfo info = new CheckInfo(pos, white);
+        int count = generateKingMoves(pos, white, ~0L, info, moves, 0);
+        if (info.isDoubleCheck()) {
+            // Only the king can answer a double check
+            return count;
+        }
+        long targets = info.getEvasionTargets();
+        count = generatePawnMoves(pos, white, targets, info, moves, count);
+        count = generatePieceMoves(pos, white, targets, info, moves, count);
+        if (!info.isInCheck()) {
+            count = generateCastling(pos, white, moves, count);
+        }
+        return generateDrops(pos, white, info.getBlockSquares(), moves, count);
+    }
+
+    /**
+     * Writes the pseudo-legal tactical moves of the side to move: captures, promotions and,
+     * if {@code checkingDrops} is set, drops that give check. Like {@link #generate}, moves
+     * that leave the mover's king attacked are included.
+     */
+    public static int generateTactical(Position pos, boolean checkingDrops, int[] moves) {
+        boolean white = pos.isWhiteToMove();
+        long enemies = pos.colorMask(!white);
+        int count = generatePawnMoves(pos, white, enemies | ROW_0 | ROW_7, null, moves, 0);
+        count = generatePieceMoves(pos, white, enemies, null, moves, count);
+        count = generateKingMoves(pos, white, enemies, null, moves, count);
+        if (!checkingDrops) {
+            return count;
+        }
+        int enemyKing = pos.kingSquare(!white);
+        if (enemyKing < 0) {
+            return count;
+        }
+        long empty = ~pos.occupied();
+        long occupied = pos.occupied();
+        for (int type = Piece.PAWN_INDEX; type < Position.POCKET_TYPES; type++) {
+            if (pos.pocketCount(white, type) <= 0) {
+                continue;
+            }
+            // A piece checks from the squares it would attack if it stood on the king's square
+            long targets = type == Piece.PAWN_INDEX
+                    ? Attacks.pawn(!white, enemyKing) & empty & PAWN_DROP_ROWS
+                    : Attacks.attacks(type, enemyKing, occupied) & empty;
+            count = writeDrops(white, type, targets, moves, count);
+        }
+        return count;
+    }
+
+    /**
+     * Writes the pseudo-legal moves of the side to move that {@link #generateTactical} leaves
+     * out: non-capturing moves other than promotions, castling and all drops.
+     */
+    public static int generateQuiet(Position pos, int[] moves) {
+        boolean white = pos.isWhiteToMove();
+        long empty = ~pos.occupied();
+        int count = generatePawnMoves(pos, white, empty & PAWN_DROP_ROWS, null, moves, 0);
+        count = generatePieceMoves(pos, white, empty, null, moves, count);
+        count = generateKingMoves(pos, white, empty, null, moves, count);
+        count = generateCastling(pos, white, moves, count);
+        return generateDrops(pos, white, ~0L, moves, count);
+    }
+
+    /**
+     * True if {@code move} is one {@link #generate} would write for {@code pos}; its piece
+     * fields, if any, are ignored.
+     */
+    public static boolean isPseudoLegal(Position pos, int move) {
+        if (move == PackedMove.NONE) {
+            return false;
+        }
+        boolean white = pos.isWhiteToMove();
+        int to = PackedMove.to(move);
+        int target = pos.pieceAt(to);
+        if (PackedMove.isDrop(move)) {
+            int type = PackedMove.dropType(move);
+            return type < Position.POCKET_TYPES && target == Position.NO_PIECE
+                    && PackedMove.promotionType(move) == 0 && !PackedMove.isCastle(move)
+                    && pos.pocketCount(white, type) > 0
+                    && (type != Piece.PAWN_INDEX || (PAWN_DROP_ROWS & Position.bit(to)) != 0);
+        }
+        int from = PackedMove.from(move);
+        int moved = pos.pieceAt(from);
+        if (moved == Position.NO_PIECE || Position.isWhiteCode(moved) != white
+                || (target != Position.NO_PIECE && Position.isWhiteCode(target) == white)) {
+            return false;
+        }
+        int type = Position.typeOf(moved);
+        int promotion = PackedMove.promotionType(move);
+        if (promotion > Piece.QUEEN_INDEX) {
+            return false;
+        }
+        if (PackedMove.isCastle(move)) {
+            return type == Piece.KING_INDEX && promotion == 0 && from == (white ? Position.WHITE_KING_HOME : Position.BLACK_KING_HOME)
+                    && (to == from + 2 || to == from - 2) && canCastle(pos, white, to > from, pos.getCastlingRights());
+        }
+        if (type == Piece.PAWN_INDEX) {
+            boolean lastRow = ((ROW_0 | ROW_7) & Position.bit(to)) != 0;
+            if (lastRow != (promotion != 0)) {
+                return false;
+            }
+            if (target != Position.NO_PIECE) {
+                return (Attacks.pawn(white, from) & Position.bit(to)) != 0;
+            }
+            int forward = white ? -8 : 8;
+            long startRow = white ? WHITE_PAWN_ROW : BLACK_PAWN_ROW;
+            return to == from + forward
+                    || (to == from + 2 * forward && (startRow & Position.bit(from)) != 0
+                        && pos.pieceAt(from + forward) == Position.NO_PIECE);
+        }
+        return promotion == 0 && (Attacks.attacks(type, from, pos.occupied()) & Position.bit(to)) != 0;
+    }
+
+    /**
+     * True if the given side has a legal move or drop, whoever is to move in {@code pos}.
+     * Nothing is written: each stage only tests its target mask, and the first non-empty
+     * one ends the search. King steps come first, then drops, which in crazyhouse can
+     * answer a sliding check by interposing, then pawns and pieces. Castling is never
+     * tested: whenever it is legal, so is the king's step to the square it passes.
+     */
+    public static boolean hasLegalMove(Position pos, boolean white) {
+        CheckInfo info = new CheckInfo(pos, white);
+        int king = info.getKingSquare();
+        if (king >= 0) {
+            long steps = Attacks.king(king) & ~pos.colorMask(white);
+            while (steps != 0) {
+                if (info.isKingSafeOn(Long.numberOfTrailingZeros(steps))) {
+                    return true;
+                }
+                steps &= steps - 1;
+            }
+        }
+        if (info.isDoubleCheck()) {
+            return false;
+        }
+        for (int type = Piece.PAWN_INDEX; type < Position.POCKET_TYPES; type++) {
+            if (pos.pocketCount(white, type) > 0 && dropTargets(pos, type, info) != 0) {
+                return true;
+            }
+        }
+        long targets = info.getEvasionTargets();
+        long pawns = pos.pieces(Piece.PAWN_INDEX, white);
+        while (pawns != 0) {
+            int from = Long.numberOfTrailingZeros(pawns);
+            pawns &= pawns - 1;
+            if ((pawnTargets(pos, white, from) & targets & info.pinRestriction(from)) != 0) {
+                return true;
+            }
+        }
+        long notOwn = ~pos.colorMask(white) & targets;
+        long occupied = pos.occupied();
+        for (int type = Piece.KNIGHT_INDEX; type <= Piece.QUEEN_INDEX; type++) {
+            long pieces = pos.pieces(type, white);
+            while (pieces != 0) {
+                int from = Long.numberOfTrailingZeros(pieces);
+                pieces &= pieces - 1;
+                if ((Attacks.attacks(type, from, occupied) & notOwn & info.pinRestriction(from)) != 0) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Legal moves and drops of the side to move, in a new array of exact size.
+     */
+    public static int[] generateLegal(Position pos) {
+        int[] moves = new int[MAX_MOVES];
+        int count = generateLegal(pos, moves);
+        int[] result = new int[count];
+        System.arraycopy(moves, 0, result, 0, count);
+        return result;
+    }
+
+    /**
+     * Squares a side may legally drop a piece of the given type on, given the check
+     * information of that side: empty squares, restricted to the squares between king and
+     * checker in check, and to rows 1-6 for pawns. Pocket counts are not looked at.
+     */
+    public static long dropTargets(Position pos, int typeIndex, CheckInfo info) {
+        long targets = ~pos.occupied() & info.getBlockSquares();
+        return typeIndex == Piece.PAWN_INDEX ? targets & PAWN_DROP_ROWS : targets;
+    }
+
+    /**
+     * Squares a piece of the given type and color on {@code from} can move to, pseudo-legally:
+     * the targets {@link #generate} uses for it, with castling (the king's two-square step)
+     * decided by {@code castlingRights} rather than the position's own rights. The Swing game
+     * takes its piece moves from here, so it plays by the same rules as {@code GameState}.
+     */
+    public static long pieceTargets(Position pos, int typeIndex, boolean white, int from, int castlingRights) {
+        if (typeIndex == Piece.PAWN_INDEX) {
+            return pawnTargets(pos, white, from);
+        }
+        long targets = Attacks.attacks(typeIndex, from, pos.occupied()) & ~pos.colorMask(white);
+        int king = white ? Position.WHITE_KING_HOME : Position.BLACK_KING_HOME;
+        if (typeIndex == Piece.KING_INDEX && from == king) {
+            if (canCastle(pos, white, true, castlingRights)) targets |= Position.bit(king + 2);
+            if (canCastle(pos, white, false, castlingRights)) targets |= Position.bit(king - 2);
+        }
+        return targets;
+    }
+
+    //---------------------------------------------------------------------------------
+    // Stages; a null CheckInfo means pseudo-legal generation
+    //---------------------------------------------------------------------------------
+
+    private static int generatePawnMoves(Position pos, boolean white, long targetMask, CheckInfo info,
+                                         int[] moves, int count) {
+        int pawn = Position.code(Piece.PAWN_INDEX, white);
+        long pawns = pos.pieces(Piece.PAWN_INDEX, white);
+        while (pawns != 0) {
+            int from = Long.numberOfTrailingZeros(pawns);
+            pawns &= pawns - 1;
+            long targets = pawnTargets(pos, white, from) & targetMask;
+            if (info != null) {
+                targets &= info.pinRestriction(from);
+            }
+            while (targets != 0) {
+                int to = Long.numberOfTrailingZeros(targets);
+                targets &= targets - 1;
+                int captured = pos.pieceAt(to);
+                if (((ROW_0 | ROW_7) & Position.bit(to)) != 0) {
+                    moves[count++] = PackedMove.withPieces(PackedMove.promotion(from, to, Piece.QUEEN_INDEX), pawn, captured);
+                    moves[count++] = PackedMove.withPieces(PackedMove.promotion(from, to, Piece.KNIGHT_INDEX), pawn, captured);
+                    moves[count++] = PackedMove.withPieces(PackedMove.promotion(from, to, Piece.ROOK_INDEX), pawn, captured);
+                    moves[count++] = PackedMove.withPieces(PackedMove.promotion(from, to, Piece.BISHOP_INDEX), pawn, captured);
+                } else {
+                    moves[count++] = PackedMove.withPieces(PackedMove.move(from, to), pawn, captured);
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Captures and pushes (single and, from the starting row, double) of the pawn on {@code from}.
+     */
+    private static long pawnTargets(Position pos, boolean white, int from) {
+        long empty = ~pos.occupied();
+        int forward = white ? -8 : 8;
+        long targets = Attacks.pawn(white, from) & pos.colorMask(!white);
+        int push = from + forward;
+        if (push >= 0 && push < Position.SQUARES && (empty & Position.bit(push)) != 0) {
+            targets |= Position.bit(push);
+            long startRow = white ? WHITE_PAWN_ROW : BLACK_PAWN_ROW;
+            if ((startRow & Position.bit(from)) != 0 && (empty & Position.bit(push + forward)) != 0) {
+                targets |= Position.bit(push + forward);
+            }
+        }
+        return targets;
+    }
+
+    private static int generatePieceMoves(Position pos, boolean white, long targetMask, CheckInfo info,
+                                          int[] moves, int count) {
+        long notOwn = ~pos.colorMask(white) & targetMask;
+        long occupied = pos.occupied();
+        for (int type = Piece.KNIGHT_INDEX; type <= Piece.QUEEN_INDEX; type++) {
+            int moved = Position.code(type, white);
+            long pieces = pos.pieces(type, white);
+            while (pieces != 0) {
+                int from = Long.numberOfTrailingZeros(pieces);
+                pieces &= pieces - 1;
+                long targets = Attacks.attacks(type, from, occupied) & notOwn;
+                if (info != null) {
+                    targets &= info.pinRestriction(from);
+                }
+                while (targets != 0) {
+                    int to = Long.numberOfTrailingZeros(targets);
+                    targets &= targets - 1;
+                    moves[count++] = PackedMove.withPieces(PackedMove.move(from, to), moved, pos.pieceAt(to));
+                }
+            }
+        }
+        return count;
+    }
+
+    private static int generateKingMoves(Position pos, boolean white, long targetMask, CheckInfo info,
+                                         int[] moves, int count) {
+        long kings = pos.pieces(Piece.KING_INDEX, white);
+        if (kings == 0) {
+            return count;
+        }
+        int from = Long.numberOfTrailingZeros(kings);
+        int king = Position.code(Piece.KING_INDEX, white);
+        long targets = Attacks.king(from) & ~pos.colorMask(white) & targetMask;
+        while (targets != 0) {
+            int to = Long.numberOfTrailingZeros(targets);
+            targets &= targets - 1;
+            if (info == null || info.isKingSafeOn(to)) {
+                moves[count++] = PackedMove.withPieces(PackedMove.move(from, to), king, pos.pieceAt(to));
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Castling is only generated when legal: the king is not in check and neither the
+     * square it passes nor its target is attacked.
+     */
+    private static int generateCastling(Position pos, boolean white, int[] moves, int count) {
+        int king = white ? Position.WHITE_KING_HOME : Position.BLACK_KING_HOME;
+        int kingCode = Position.code(Piece.KING_INDEX, white);
+        if (canCastle(pos, white, true, pos.getCastlingRights())) {
+            moves[count++] = PackedMove.withPieces(PackedMove.castle(king, king + 2), kingCode, Position.NO_PIECE);
+        }
+        if (canCastle(pos, white, false, pos.getCastlingRights())) {
+            moves[count++] = PackedMove.withPieces(PackedMove.castle(king, king - 2), kingCode, Position.NO_PIECE);
+        }
+        return count;
+    }
+
+    private static boolean canCastle(Position pos, boolean white, boolean kingSide, int rights) {
+        int king = white ? Position.WHITE_KING_HOME : Position.BLACK_KING_HOME;
+        int right = kingSide
+                ? (white ? Position.CASTLE_WHITE_SHORT : Position.CASTLE_BLACK_SHORT)
+                : (white ? Position.CASTLE_WHITE_LONG : Position.CASTLE_BLACK_LONG);
+        if ((rights & right) == 0) {
+            return false;
+        }
+        int step = kingSide ? 1 : -1;
+        long path = Position.bit(king + step) | Position.bit(king + 2 * step);
+        if (!kingSide) {
+            path |= Position.bit(king - 3);
+        }
+        return (pos.occupied() & path) == 0
+                && !pos.isSquareAttacked(king, !white)
+                && !pos.isSquareAttacked(king + step, !white)
+                && !pos.isSquareAttacked(king + 2 * step, !white);
+    }
+
+    private static int generateDrops(Position pos, boolean white, long targetMask, int[] moves, int count) {
+        long empty = ~pos.occupied() & targetMask;
+        for (int type = Piece.PAWN_INDEX; type < Position.POCKET_TYPES; type++) {
+            if (pos.pocketCount(white, type) <= 0) {
+                continue;
+            }
+            long targets = type == Piece.PAWN_INDEX ? empty & PAWN_DROP_ROWS : empty;
+            count = writeDrops(white, type, targets, moves, count);
+        }
+        return count;
+    }
+
+    private static int writeDrops(boolean white, int type, long targets, int[] moves, int count) {
+        int dropped = Position.code(type, white);
+        while (targets != 0) {
+            int to = Long.numberOfTrailingZeros(targets);
+            targets &= targets - 1;
+            moves[count++] = PackedMove.withPieces(PackedMove.drop(type, to), dropped, Position.NO_PIECE);
+        }
+        return count;
+    }
+}
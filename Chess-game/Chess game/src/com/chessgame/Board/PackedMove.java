@@ -0,0 +1,184 @@
+package com.chessgame.Board;
+
+import com.chessgame.Pieces.Piece;
+
+/**
+ * Int encoding of a move on a {@link Position}, used by the generator and the search instead
+ * of {@link Move} objects, which are only built at the UI boundary.
+ *
+ * Layout (low to high bits):
+ *   0-5   from square (for drops: the dropped piece's type index)
+ *   6-11  to square
+ *   12-14 promotion type index (0 = none; a pawn is never a promotion target)
+ *   15    drop flag
+ *   16    castling flag
+ *   17-20 moved piece code + 1 (0 = not recorded)
+ *   21-24 captured piece code + 1 (0 = no capture or not recorded)
+ *
+ * Bits 0-16 say what the move does and are all {@link Position#makeMove} needs; the piece
+ * fields are filled in by {@link MoveGenerator} (or {@link #withPieces(Position, int)}) so
+ * that move ordering can read them without looking at the board. Moves built by hand from
+ * coordinates carry no piece fields, so compare moves with {@link #sameMove}.
+ *
+ * 0 is never a valid move (it would move square 0 onto itself) and is used as "no move".
+ */
+public final class PackedMove {
+    public static final int NONE = 0;
+
+    private static final int TO_SHIFT = 6;
+    private static final int PROMOTION_SHIFT = 12;
+    private static final int DROP_FLAG = 1 << 15;
+    private static final int CASTLE_FLAG = 1 << 16;
+    private static final int MOVED_SHIFT = 17;
+    private static final int CAPTURED_SHIFT = 21;
+
+    // Bits that identify a move; the piece fields above them are derived from the position
+    public static final int ACTION_MASK = (1 << MOVED_SHIFT) - 1;
+
+    private PackedMove() {
+    }
+
+    public static int move(int from, int to) {
+        return from | (to << TO_SHIFT);
+    }
+
+    public static int promotion(int from, int to, int promotionType) {
+        return from | (to << TO_SHIFT) | (promotionType << PROMOTION_SHIFT);
+    }
+
+    public static int castle(int from, int to) {
+        return from | (to << TO_SHIFT) | CASTLE_FLAG;
+    }
+
+    public static int drop(int typeIndex, int to) {
+        return typeIndex | (to << TO_SHIFT) | DROP_FLAG;
+    }
+
+    /**
+     * {@code move} with the moved and captured piece codes recorded; {@code captured} is
+     * {@link Position#NO_PIECE} for a quiet move.
+     */
+    public static int withPieces(int move, int moved, int captured) {
+        return (move & ACTION_MASK) | ((moved + 1) << MOVED_SHIFT) | ((captured + 1) << CAPTURED_SHIFT);
+    }
+
+    /**
+     * {@code move} with its moved and captured pieces read from {@code pos}, which must be
+     * the position the move is played in.
+     */
+    public static int withPieces(Position pos, int move) {
+        if (isDrop(move)) {
+            return withPieces(move, Position.code(dropType(move), pos.isWhiteToMove()), Position.NO_PIECE);
+        }
+        return withPieces(move, pos.pieceAt(from(move)), pos.pieceAt(to(move)));
+    }
+
+    /**
+     * True if both encode the same move, whether or not their piece fields are recorded.
+     */
+    public static boolean sameMove(int a, int b) {
+        return ((a ^ b) & ACTION_MASK) == 0;
+    }
+
+    public static int from(int move) {
+        return move & 63;
+    }
+
+    public static int to(int move) {
+        return (move >>> TO_SHIFT) & 63;
+    }
+
+    public static int promotionType(int move) {
+        return (move >>> PROMOTION_SHIFT) & 7;
+    }
+
+    public static boolean isDrop(int move) {
+        return (move & DROP_FLAG) != 0;
+    }
+
+    public static boolean isCastle(int move) {
+        return (move & CASTLE_FLAG) != 0;
+    }
+
+    /**
+     * Code of the moved (or dropped) piece, or {@link Position#NO_PIECE} if not recorded.
+     */
+    public static int movedPiece(int move) {
+        return ((move >>> MOVED_SHIFT) & 15) - 1;
+    }
+
+    /**
+     * Code of the captured piece, or {@link Position#NO_PIECE} for a quiet move or if not recorded.
+     */
+    public static int capturedPiece(int move) {
+        return ((move >>> CAPTURED_SHIFT) & 15) - 1;
+    }
+
+    public static boolean isCapture(int move) {
+        return (move >>> CAPTURED_SHIFT) != 0;
+    }
+
+    /**
+     * Type index of the dropped piece (only meaningful for drops).
+     */
+    public static int dropType(int move) {
+        return move & 63;
+    }
+
+    /**
+     * Readable form using Board coordinates, e.g. "(4,6)->(4,4)" or "Knight@(2,5)".
+     */
+    public static String toString(int move) {
+        if (move == NONE) {
+            return "none";
+        }
+        int to = to(move);
+        String target = "(" + Position.fileOf(to) + "," + Position.rowOf(to) + ")";
+        if (isDrop(move)) {
+            return typeName(dropType(move)) + "@" + target;
+        }
+        int from = from(move);
+        String s = "(" + Position.fileOf(from) + "," + Position.rowOf(from) + ")->" + target;
+        if (promotionType(move) != 0) {
+            s += "=" + typeName(promotionType(move));
+        }
+        return s;
+    }
+
+    /**
+     * Coordinate notation as used by perft tools and engines, e.g. "e2e4", "e7e8q" or "N@f3".
+     */
+    public static String toAlgebraic(int move) {
+        if (move == NONE) {
+            return "0000";
+        }
+        String target = squareName(to(move));
+        if (isDrop(move)) {
+            return Character.toUpperCase(typeLetter(dropType(move))) + "@" + target;
+        }
+        String s = squareName(from(move)) + target;
+        if (promotionType(move) != 0) {
+            s += typeLetter(promotionType(move));
+        }
+        return s;
+    }
+
+    private static String squareName(int sq) {
+        return "" + (char) ('a' + Position.fileOf(sq)) + (char) ('8' - Position.rowOf(sq));
+    }
+
+    private static char typeLetter(int typeIndex) {
+        return "pnbrqk".charAt(typeIndex);
+    }
+
+    private static String typeName(int typeIndex) {
+        switch (typeIndex) {
+            case Piece.PAWN_INDEX:   return "Pawn";
+            case Piece.KNIGHT_INDEX: return "Knight";
+            case Piece.BISHOP_INDEX: return "Bishop";
+            case Piece.ROOK_INDEX:   return "Rook";
+            case Piece.QUEEN_INDEX:  return "Queen";
+            default:                 return "King";
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.chessgame.Board;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Perft: counts the leaf nodes of the legal move tree to a fixed depth, drops included.
+ * Comparing the counts (and the per-root-move "divide" breakdown) against a reference
+ * finds move generation bugs; the nodes per second track generator speed.
+ *
+ * Moves come from the legal {@link MoveGenerator#generateLegal(Position, int[])}. The last
+ * ply is bulk-counted: the number of legal moves generated is the number of leaves, so
+ * the moves of the last ply are never made. With more than one thread the root moves are split
+ * between threads, each working on its own copy of the position.
+ *
+ * The counts follow this game's rules, so they differ from standard crazyhouse references
+ * in positions where en passant is possible (it is never generated here).
+ *
+ * Command line (headless):
+ * <pre>
+ * java -cp chess-game.jar com.chessgame.Board.Perft depth [threads] [FEN]
+ * java -cp chess-game.jar com.chessgame.Board.Perft check
+ * </pre>
+ * The FEN defaults to the starting position and may carry pockets, see {@link Fen}.
+ * {@code check} runs the {@link #REFERENCE} table and exits with status 1 on any mismatch.
+ */
+public final class Perft {
+    private static final String KIWIPETE = "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1";
+    private static final String ENDGAME = "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1";
+    private static final String DROPS = "r2qk2r/ppp2ppp/2n1b3/3p4/3P4/2N1B3/PPP2PPP/R2QK2R[NBPPnbpp] w KQkq - 0 12";
+
+    /**
+     * Known counts: FEN, depth, leaf nodes. Most are the standard chess counts, which hold
+     * as long as no side has anything to drop. Where they differ, the entry says why.
+     */
+    static final Object[][] REFERENCE = {
+            { Fen.START, 1, 20L },
+            { Fen.START, 2, 400L },
+            { Fen.START, 3, 8902L },
+            { Fen.START, 4, 197281L },
+            // Crazyhouse reference minus its 258 en passant captures
+            { Fen.START, 5, 4888574L },
+            { KIWIPETE, 1, 48L },
+            // Standard count minus the one en passant capture
+            { KIWIPETE, 2, 2038L },
+            { ENDGAME, 1, 14L },
+            { ENDGAME, 2, 191L },
+            // Pocket pieces on both sides; recorded from this generator as a regression guard
+            { DROPS, 1, 143L },
+            { DROPS, 2, 19489L },
+    };
+
+    private final Position position;
+    // One move buffer per ply, so the recursion does not allocate
+    private final int[][] moveBuffers;
+
+    private Perft(Position position, int depth) {
+        this.position = position;
+        this.moveBuffers = new int[Math.max(depth, 1)][MoveGenerator.MAX_MOVES];
+    }
+
+    /**
+     * Number of leaf nodes {@code depth} plies below {@code pos} (1 for depth 0).
+     * The position is restored before returning.
+     */
+    public static long perft(Position pos, int depth) {
+        return new Perft(pos, depth).count(depth, 0);
+    }
+
+    /**
+     * Leaf counts below each legal root move, in generation order.
+     *
+     * @param pos     the position (not modified)
+     * @param depth   perft depth including the root move (at least 1)
+     * @param threads number of threads to split the root moves over (at least 1)
+     */
+    public static Map<Integer, Long> divide(Position pos, int depth, int threads) {
+        if (depth < 1) {
+            throw new IllegalArgumentException("Divide depth must be at least 1: " + depth);
+        }
+        if (threads < 1) {
+            throw new IllegalArgumentException("Thread count must be at least 1: " + threads);
+        }
+        int[] rootMoves = MoveGenerator.generateLegal(pos);
+        Map<Integer, Long> result = new LinkedHashMap<>();
+        if (threads == 1) {
+            Position copy = pos.copy();
+            for (int move : rootMoves) {
+                result.put(move, countBelow(copy, move, depth - 1));
+            }
+            return result;
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread t = new Thread(runnable, "perft");
+            t.setDaemon(true);
+            return t;
+        });
+        try {
+            List<Future<Long>> futures = new ArrayList<>();
+            for (int move : rootMoves) {
+                Position copy = pos.copy();
+                futures.add(pool.submit(() -> countBelow(copy, move, depth - 1)));
+            }
+            for (int i = 0; i < rootMoves.length; i++) {
+                result.put(rootMoves[i], futures.get(i).get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Perft interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Perft failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+        return result;
+    }
+
+    private static long countBelow(Position pos, int move, int depth) {
+        pos.makeMove(move);
+        long nodes = perft(pos, depth);
+        pos.unmakeMove(move);
+        return nodes;
+    }
+
+    private long count(int depth, int ply) {
+        if (depth == 0) {
+            return 1;
+        }
+        int[] moves = moveBuffers[ply];
+        int count = MoveGenerator.generateLegal(position, moves);
+        if (depth == 1) {
+            return count;
+        }
+        long nodes = 0;
+        for (int i = 0; i < count; i++) {
+            int move = moves[i];
+            position.makeMove(move);
+            nodes += count(depth - 1, ply + 1);
+            position.unmakeMove(move);
+        }
+        return nodes;
+    }
+
+    /**
+     * Runs the {@link #REFERENCE} table and prints one line per entry.
+     *
+     * @return the number of entries whose count did not match
+     */
+    public static int checkReference() {
+        int failures = 0;
+        for (Object[] entry : REFERENCE) {
+            String fen = (String) entry[0];
+            int depth = (Integer) entry[1];
+            long expected = (Long) entry[2];
+            long actual = perft(Fen.parse(fen), depth);
+            boolean ok = actual == expected;
+            if (!ok) failures++;
+            System.out.println((ok ? "ok    " : "FAIL  ") + "depth " + depth + "  " + actual
+                    + (ok ? "" : " (expected " + expected + ")") + "  " + fen);
+        }
+        return failures;
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.out.println("Usage: Perft depth [threads] [FEN] | Perft check");
+            return;
+        }
+        if (args[0].equals("check")) {
+            int failures = checkReference();
+            if (failures > 0) {
+                System.out.println(failures + " of " + REFERENCE.length + " perft counts FAILED");
+                System.exit(1);
+            }
+            System.out.println("All " + REFERENCE.length + " perft counts match");
+            return;
+        }
+        int depth = Integer.parseInt(args[0]);
+        int threads = 1;
+        int fenStart = 1;
+        if (args.length > 1 && args[1].matches("\\d+")) {
+            threads = Integer.parseInt(args[1]);
+            fenStart = 2;
+        }
+        StringBuilder fen = new StringBuilder();
+        for (int i = fenStart; i < args.length; i++) {
+            if (fen.length() > 0) fen.append(' ');
+            fen.append(args[i]);
+        }
+        Position pos = Fen.parse(fen.length() > 0 ? fen.toString() : Fen.START);
+
+        long start = System.nanoTime();
+        long total = 0;
+        if (depth == 0) {
+            total = 1;
+        } else {
+            for (Map.Entry<Integer, Long> entry : divide(pos, depth, threads).entrySet()) {
+                System.out.println(PackedMove.toAlgebraic(entry.getKey()) + ": " + entry.getValue());
+                total += entry.getValue();
+            }
+        }
+        long millis = (System.nanoTime() - start) / 1000000;
+        System.out.println();
+        System.out.println("Nodes: " + total);
+        System.out.println("Time: " + millis + " ms");
+        System.out.println("Nodes/s: " + (millis > 0 ? total * 1000 / millis : total));
+    }
+}
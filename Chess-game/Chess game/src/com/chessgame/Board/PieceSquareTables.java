@@ -0,0 +1,47 @@
+package com.chessgame.Board;
+
+import com.chessgame.Pieces.PieceFactory;
+
+/**
+ * Material and piece-square values that {@link Position} accumulates incrementally, on the
+ * EvaluationUtils scale (material x 400 per point, position bonus x 100).
+ *
+ * The position bonuses are the pieces' own tables, read through
+ * {@link PieceFactory#getPositionBonus(int, boolean, int, int)}.
+ */
+public final class PieceSquareTables {
+    // Material per type index (pawn..king)
+    public static final int[] MATERIAL = { 400, 1200, 1200, 2000, 3200, 0 };
+    public static final int POSITION_FACTOR = 100;
+
+    // Material plus position bonus, [piece code][square]
+    private static final int[][] VALUE = new int[Position.PIECE_CODES][Position.SQUARES];
+
+    static {
+        for (int code = 0; code < Position.PIECE_CODES; code++) {
+            int type = Position.typeOf(code);
+            boolean white = Position.isWhiteCode(code);
+            for (int sq = 0; sq < Position.SQUARES; sq++) {
+                int bonus = PieceFactory.getPositionBonus(type, white, Position.rowOf(sq), Position.fileOf(sq));
+                VALUE[code][sq] = MATERIAL[type] + bonus * POSITION_FACTOR;
+            }
+        }
+    }
+
+    private PieceSquareTables() {
+    }
+
+    /**
+     * Material plus position bonus of the piece with the given code on {@code sq}.
+     */
+    public static int value(int code, int sq) {
+        return VALUE[code][sq];
+    }
+
+    /**
+     * Value of one pocket piece of the given type (pocket pieces count as full material).
+     */
+    public static int pocketValue(int typeIndex) {
+        return MATERIAL[typeIndex];
+    }
+}
@@ -0,0 +1,645 @@
+package com.chessgame.Board;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import com.chessgame.Pieces.Piece;
+
+/**
+ * Bitboard representation of a position.
+ *
+ * Squares are indexed as {@code y * 8 + x}, using the same (x, y) coordinates as {@link Board}
+ * (x = column, y = row, row 0 is Black's back rank). Pieces are stored as compact codes:
+ * {@code typeIndex} for White and {@code typeIndex + 6} for Black, where the type index is
+ * one of the {@code Piece.*_INDEX} constants.
+ *
+ * Besides the twelve piece masks the position keeps per-color and total occupancy masks,
+ * a byte mailbox for O(1) square lookups and the pocket (ToolShed) counts of both sides.
+ *
+ * For search the position also carries the side to move and castling rights, and can play
+ * and take back {@link PackedMove}-encoded moves and drops in place. Castling follows the
+ * standard geometry (king from the e-file to the c- or g-file); en passant is not part of
+ * this game's rules ({@link MoveGenerator} never produces it) and is not generated.
+ *
+ * Every change also updates a 64-bit Zobrist key covering placement, side to move, castling
+ * rights, the square skipped by a pawn double step and the pocket counts of both sides, so
+ * {@link #getKey()} identifies the position without rescanning it. A second key over the
+ * pawns alone ({@link #getPawnKey()}) identifies the pawn structure.
+ *
+ * The same updates maintain the evaluation accumulators: per-side material plus
+ * piece-square score ({@link PieceSquareTables}, pocket pieces included) and pawn counts
+ * per file, so the evaluator does not have to walk the pieces. Attack maps
+ * ({@link #attacks()}) are not updated on every change but marked stale and regenerated
+ * once by their first reader.
+ */
+public class Position implements Cloneable {
+    public static final int WHITE = 0;
+    public static final int BLACK = 1;
+
+    public static final int NO_PIECE = -1;
+    public static final int PIECE_TYPES = 6;
+    public static final int PIECE_CODES = 12;
+    // King cannot be held in a pocket
+    public static final int POCKET_TYPES = 5;
+    public static final int SQUARES = 64;
+
+    public static final int CASTLE_WHITE_SHORT = 1;
+    public static final int CASTLE_WHITE_LONG = 2;
+    public static final int CASTLE_BLACK_SHORT = 4;
+    public static final int CASTLE_BLACK_LONG = 8;
+
+    // Home squares of the kings and rooks (White on row 7, Black on row 0)
+    public static final int WHITE_KING_HOME = 60;
+    public static final int BLACK_KING_HOME = 4;
+
+    private static final int INITIAL_UNDO_DEPTH = 128;
+
+    // Pocket counts above this share the key of the maximum (30 capturable pieces exist)
+    private static final int MAX_POCKET_KEY = 31;
+    private static final long ZOBRIST_SEED = 0x5A6F627269737448L;
+
+    private static final long[][] PIECE_KEYS = new long[PIECE_CODES][SQUARES];
+    private static final long[][] POCKET_KEYS = new long[2 * POCKET_TYPES][MAX_POCKET_KEY + 1];
+    private static final long[] CASTLING_KEYS = new long[16];
+    private static final long[] EN_PASSANT_KEYS = new long[8];
+    private static final long SIDE_KEY;
+    // Pawn key of a position without pawns, so that no pawn structure hashes to 0
+    private static final long NO_PAWNS_KEY;
+
+    // Castling rights that survive a move touching each square
+    private static final int[] CASTLE_KEEP = new int[SQUARES];
+
+    static {
+        Arrays.fill(CASTLE_KEEP, 15);
+        CASTLE_KEEP[WHITE_KING_HOME] &= ~(CASTLE_WHITE_SHORT | CASTLE_WHITE_LONG);
+        CASTLE_KEEP[63] &= ~CASTLE_WHITE_SHORT;
+        CASTLE_KEEP[56] &= ~CASTLE_WHITE_LONG;
+        CASTLE_KEEP[BLACK_KING_HOME] &= ~(CASTLE_BLACK_SHORT | CASTLE_BLACK_LONG);
+        CASTLE_KEEP[7] &= ~CASTLE_BLACK_SHORT;
+        CASTLE_KEEP[0] &= ~CASTLE_BLACK_LONG;
+
+        Random random = new Random(ZOBRIST_SEED);
+        for (long[] keys : PIECE_KEYS) {
+            fillKeys(keys, random);
+        }
+        for (long[] keys : POCKET_KEYS) {
+            fillKeys(keys, random);
+            // An empty pocket contributes nothing, so an empty position hashes to 0
+            keys[0] = 0L;
+        }
+        fillKeys(CASTLING_KEYS, random);
+        CASTLING_KEYS[0] = 0L;
+        fillKeys(EN_PASSANT_KEYS, random);
+        SIDE_KEY = random.nextLong();
+        NO_PAWNS_KEY = random.nextLong();
+    }
+
+    private static void fillKeys(long[] keys, Random random) {
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = random.nextLong();
+        }
+    }
+
+    private long[] pieceMasks = new long[PIECE_CODES];
+    private long[] colorMasks = new long[2];
+    private long occupied;
+    private byte[] mailbox = new byte[SQUARES];
+    private int[] pockets = new int[2 * POCKET_TYPES];
+
+    private boolean whiteToMove = true;
+    private int castlingRights;
+    // Square a pawn skipped with its last double step, or -1
+    private int enPassantSquare = -1;
+
+    // Zobrist key; White to move is the unflipped side
+    private long key;
+    // Zobrist key of the pawns alone, for the pawn structure cache
+    private long pawnKey = NO_PAWNS_KEY;
+
+    // Evaluation accumulators: material + piece-square score and pawns per file, by color
+    private int[] psqScore = new int[2];
+    private int[] pawnFiles = new int[2 * 8];
+
+    // Attack maps of both sides, regenerated on demand after the placement changes
+    private AttackMap attackMap;
+    private boolean attacksValid;
+
+    // Undo information per made move: captured piece code, previous castling rights and en passant square
+    private int[] undoCaptured = new int[INITIAL_UNDO_DEPTH];
+    private int[] undoCastling = new int[INITIAL_UNDO_DEPTH];
+    private int[] undoEnPassant = new int[INITIAL_UNDO_DEPTH];
+    private int undoTop;
+
+    public Position() {
+        Arrays.fill(mailbox, (byte) NO_PIECE);
+    }
+
+    //---------------------------------------------------------------------------------
+    // Static helpers
+    //---------------------------------------------------------------------------------
+
+    public static int square(int x, int y) {
+        return (y << 3) | x;
+    }
+
+    public static int fileOf(int sq) {
+        return sq & 7;
+    }
+
+    public static int rowOf(int sq) {
+        return sq >>> 3;
+    }
+
+    public static long bit(int sq) {
+        return 1L << sq;
+    }
+
+    public static int code(int typeIndex, boolean isWhite) {
+        return isWhite ? typeIndex : typeIndex + PIECE_TYPES;
+    }
+
+    public static int codeOf(Piece piece) {
+        return code(piece.getPieceTypeIndex(), piece.isWhite());
+    }
+
+    public static int typeOf(int code) {
+        return code < PIECE_TYPES ? code : code - PIECE_TYPES;
+    }
+
+    public static boolean isWhiteCode(int code) {
+        return code < PIECE_TYPES;
+    }
+
+    public static int colorOf(boolean isWhite) {
+        return isWhite ? WHITE : BLACK;
+    }
+
+    //---------------------------------------------------------------------------------
+    // Placement
+    //---------------------------------------------------------------------------------
+
+    /**
+     * Puts the piece with the given code on a square, replacing any occupant.
+     */
+    public void put(int sq, int code) {
+        remove(sq);
+        long b = bit(sq);
+        pieceMasks[code] |= b;
+        colorMasks[isWhiteCode(code) ? WHITE : BLACK] |= b;
+        occupied |= b;
+        mailbox[sq] = (byte) code;
+        key ^= PIECE_KEYS[code][sq];
+        attacksValid = false;
+        int color = isWhiteCode(code) ? WHITE : BLACK;
+        psqScore[color] += PieceSquareTables.value(code, sq);
+        if (typeOf(code) == Piece.PAWN_INDEX) {
+            pawnFiles[color * 8 + fileOf(sq)]++;
+            pawnKey ^= PIECE_KEYS[code][sq];
+        }
+    }
+
+    /**
+     * Clears a square and returns the code of the piece that stood there (or NO_PIECE).
+     */
+    public int remove(int sq) {
+        int code = mailbox[sq];
+        if (code != NO_PIECE) {
+            long b = ~bit(sq);
+            pieceMasks[code] &= b;
+            colorMasks[isWhiteCode(code) ? WHITE : BLACK] &= b;
+            occupied &= b;
+            mailbox[sq] = (byte) NO_PIECE;
+            key ^= PIECE_KEYS[code][sq];
+            attacksValid = false;
+            int color = isWhiteCode(code) ? WHITE : BLACK;
+            psqScore[color] -= PieceSquareTables.value(code, sq);
+            if (typeOf(code) == Piece.PAWN_INDEX) {
+                pawnFiles[color * 8 + fileOf(sq)]--;
+                pawnKey ^= PIECE_KEYS[code][sq];
+            }
+        }
+        return code;
+    }
+
+    /**
+     * Moves whatever stands on {@code from} to {@code to}, capturing any occupant of {@code to}.
+     */
+    public void move(int from, int to) {
+        int code = remove(from);
+        if (code != NO_PIECE) {
+            put(to, code);
+        }
+    }
+
+    public int pieceAt(int sq) {
+        return mailbox[sq];
+    }
+
+    public long pieces(int code) {
+        return pieceMasks[code];
+    }
+
+    public long pieces(int typeIndex, boolean isWhite) {
+        return pieceMasks[code(typeIndex, isWhite)];
+    }
+
+    public long colorMask(boolean isWhite) {
+        return colorMasks[isWhite ? WHITE : BLACK];
+    }
+
+    public long occupied() {
+        return occupied;
+    }
+
+    public void clear() {
+        Arrays.fill(pieceMasks, 0L);
+        colorMasks[WHITE] = 0L;
+        colorMasks[BLACK] = 0L;
+        occupied = 0L;
+        Arrays.fill(mailbox, (byte) NO_PIECE);
+        Arrays.fill(pockets, 0);
+        whiteToMove = true;
+        castlingRights = 0;
+        enPassantSquare = -1;
+        undoTop = 0;
+        key = 0L;
+        pawnKey = NO_PAWNS_KEY;
+        Arrays.fill(psqScore, 0);
+        Arrays.fill(pawnFiles, 0);
+        attacksValid = false;
+    }
+
+    //---------------------------------------------------------------------------------
+    // Pockets (ToolShed contents)
+    //---------------------------------------------------------------------------------
+
+    /**
+     * Number of pieces of the given type the given side can drop.
+     */
+    public int pocketCount(boolean isWhite, int typeIndex) {
+        return pockets[pocketSlot(isWhite, typeIndex)];
+    }
+
+    public void setPocketCount(boolean isWhite, int typeIndex, int count) {
+        setPocket(pocketSlot(isWhite, typeIndex), count);
+    }
+
+    public void addToPocket(boolean isWhite, int typeIndex) {
+        int slot = pocketSlot(isWhite, typeIndex);
+        setPocket(slot, pockets[slot] + 1);
+    }
+
+    public void removeFromPocket(boolean isWhite, int typeIndex) {
+        int slot = pocketSlot(isWhite, typeIndex);
+        setPocket(slot, pockets[slot] - 1);
+    }
+
+    private void setPocket(int slot, int count) {
+        key ^= pocketKey(slot, pockets[slot]) ^ pocketKey(slot, count);
+        psqScore[slot < POCKET_TYPES ? WHITE : BLACK] +=
+                (count - pockets[slot]) * PieceSquareTables.pocketValue(slot % POCKET_TYPES);
+        pockets[slot] = count;
+    }
+
+    private static long pocketKey(int slot, int count) {
+        return POCKET_KEYS[slot][Math.max(0, Math.min(count, MAX_POCKET_KEY))];
+    }
+
+    private static int pocketSlot(boolean isWhite, int typeIndex) {
+        return (isWhite ? 0 : POCKET_TYPES) + typeIndex;
+    }
+
+    //---------------------------------------------------------------------------------
+    // Side to move and castling rights
+    //---------------------------------------------------------------------------------
+
+    public boolean isWhiteToMove() {
+        return whiteToMove;
+    }
+
+    public void setWhiteToMove(boolean whiteToMove) {
+        if (this.whiteToMove != whiteToMove) {
+            key ^= SIDE_KEY;
+        }
+        this.whiteToMove = whiteToMove;
+    }
+
+    public int getCastlingRights() {
+        return castlingRights;
+    }
+
+    public void setCastlingRights(int castlingRights) {
+        key ^= CASTLING_KEYS[this.castlingRights] ^ CASTLING_KEYS[castlingRights];
+        this.castlingRights = castlingRights;
+    }
+
+    /**
+     * Square skipped by the pawn that just made a double step, or -1.
+     */
+    public int getEnPassantSquare() {
+        return enPassantSquare;
+    }
+
+    public void setEnPassantSquare(int sq) {
+        if (enPassantSquare >= 0) key ^= EN_PASSANT_KEYS[fileOf(enPassantSquare)];
+        if (sq >= 0) key ^= EN_PASSANT_KEYS[fileOf(sq)];
+        enPassantSquare = sq;
+    }
+
+    //---------------------------------------------------------------------------------
+    // Evaluation accumulators
+    //---------------------------------------------------------------------------------
+
+    /**
+     * Material plus piece-square score of one side, including the pieces in its pocket.
+     */
+    public int psqScore(boolean isWhite) {
+        return psqScore[isWhite ? WHITE : BLACK];
+    }
+
+    /**
+     * Number of the given side's pawns on a file.
+     */
+    public int pawnsOnFile(boolean isWhite, int file) {
+        return pawnFiles[(isWhite ? 0 : 8) + file];
+    }
+
+    //---------------------------------------------------------------------------------
+    // Zobrist key
+    //---------------------------------------------------------------------------------
+
+    /**
+     * Zobrist key of the position, maintained incrementally by every update.
+     */
+    public long getKey() {
+        return key;
+    }
+
+    /**
+     * Zobrist key of the pawns of both sides alone: equal for positions with the same pawn
+     * structure, whatever the other pieces, pockets and side to move.
+     */
+    public long getPawnKey() {
+        return pawnKey;
+    }
+
+    /**
+     * Recomputes the key from scratch; equals {@link #getKey()} unless the incremental
+     * updates are broken. Intended for debugging.
+     */
+    public long computeKey() {
+        long k = 0L;
+        for (int sq = 0; sq < SQUARES; sq++) {
+            if (mailbox[sq] != NO_PIECE) k ^= PIECE_KEYS[mailbox[sq]][sq];
+        }
+        for (int slot = 0; slot < pockets.length; slot++) {
+            k ^= pocketKey(slot, pockets[slot]);
+        }
+        k ^= CASTLING_KEYS[castlingRights];
+        if (enPassantSquare >= 0) k ^= EN_PASSANT_KEYS[fileOf(enPassantSquare)];
+        if (!whiteToMove) k ^= SIDE_KEY;
+        return k;
+    }
+
+    /**
+     * Recomputes the pawn key from scratch, like {@link #computeKey()}.
+     */
+    public long computePawnKey() {
+        long k = NO_PAWNS_KEY;
+        for (int code : new int[] { Piece.PAWN_INDEX, Piece.PAWN_INDEX + PIECE_TYPES }) {
+            long pawns = pieceMasks[code];
+            while (pawns != 0) {
+                int sq = Long.numberOfTrailingZeros(pawns);
+                pawns &= pawns - 1;
+                k ^= PIECE_KEYS[code][sq];
+            }
+        }
+        return k;
+    }
+
+    //---------------------------------------------------------------------------------
+    // Attacks
+    //---------------------------------------------------------------------------------
+
+    /**
+     * True if any piece of the given color attacks {@code sq}. Probes outward from the
+     * square with each piece pattern instead of generating the attacker's moves.
+     */
+    public boolean isSquareAttacked(int sq, boolean byWhite) {
+        if ((Attacks.pawn(!byWhite, sq) & pieces(Piece.PAWN_INDEX, byWhite)) != 0) return true;
+        if ((Attacks.knight(sq) & pieces(Piece.KNIGHT_INDEX, byWhite)) != 0) return true;
+        if ((Attacks.king(sq) & pieces(Piece.KING_INDEX, byWhite)) != 0) return true;
+        long queens = pieces(Piece.QUEEN_INDEX, byWhite);
+        if ((Attacks.bishop(sq, occupied) & (pieces(Piece.BISHOP_INDEX, byWhite) | queens)) != 0) return true;
+        return (Attacks.rook(sq, occupied) & (pieces(Piece.ROOK_INDEX, byWhite) | queens)) != 0;
+    }
+
+    /**
+     * All pieces of the given color that attack {@code sq}, with sliders seeing through to
+     * {@code occupied} (pass a mask with pieces removed to look past them).
+     */
+    public long attackersTo(int sq, boolean byWhite, long occupied) {
+        long queens = pieces(Piece.QUEEN_INDEX, byWhite);
+        return (Attacks.pawn(!byWhite, sq) & pieces(Piece.PAWN_INDEX, byWhite))
+                | (Attacks.knight(sq) & pieces(Piece.KNIGHT_INDEX, byWhite))
+                | (Attacks.king(sq) & pieces(Piece.KING_INDEX, byWhite))
+                | (Attacks.bishop(sq, occupied) & (pieces(Piece.BISHOP_INDEX, byWhite) | queens))
+                | (Attacks.rook(sq, occupied) & (pieces(Piece.ROOK_INDEX, byWhite) | queens));
+    }
+
+    /**
+     * Attack maps of both sides. They are generated at most once per placement: every
+     * move, drop and take-back marks them stale and the first caller after it regenerates
+     * them, so all evaluation terms reading the same position share one generation.
+     * The returned map is owned by the position and changes with it.
+     */
+    public AttackMap attacks() {
+        if (attackMap == null) {
+            attackMap = new AttackMap();
+        }
+        if (!attacksValid) {
+            attackMap.compute(this);
+            attacksValid = true;
+        }
+        return attackMap;
+    }
+
+    /**
+     * Square of the given side's king, or -1 if it has none.
+     */
+    public int kingSquare(boolean isWhite) {
+        long king = pieces(Piece.KING_INDEX, isWhite);
+        return king == 0 ? -1 : Long.numberOfTrailingZeros(king);
+    }
+
+    /**
+     * True if the given side's king is attacked.
+     */
+    public boolean isInCheck(boolean isWhite) {
+        int king = kingSquare(isWhite);
+        return king >= 0 && isSquareAttacked(king, !isWhite);
+    }
+
+    //---------------------------------------------------------------------------------
+    // Reversible moves (PackedMove encoding)
+    //---------------------------------------------------------------------------------
+
+    /**
+     * Plays a pseudo-legal move or drop for the side to move. Captured pieces are credited
+     * to the mover's pocket. The caller is responsible for checking king safety afterwards.
+     */
+    public void makeMove(int move) {
+        if (undoTop == undoCaptured.length) {
+            undoCaptured = Arrays.copyOf(undoCaptured, undoTop * 2);
+            undoCastling = Arrays.copyOf(undoCastling, undoTop * 2);
+            undoEnPassant = Arrays.copyOf(undoEnPassant, undoTop * 2);
+        }
+        undoCastling[undoTop] = castlingRights;
+        undoEnPassant[undoTop] = enPassantSquare;
+        boolean white = whiteToMove;
+        int to = PackedMove.to(move);
+        setEnPassantSquare(-1);
+
+        if (PackedMove.isDrop(move)) {
+            int type = PackedMove.dropType(move);
+            undoCaptured[undoTop++] = NO_PIECE;
+            put(to, code(type, white));
+            removeFromPocket(white, type);
+        } else {
+            int from = PackedMove.from(move);
+            int captured = mailbox[to];
+            undoCaptured[undoTop++] = captured;
+            if (captured != NO_PIECE) {
+                remove(to);
+                if (typeOf(captured) != Piece.KING_INDEX) {
+                    addToPocket(white, typeOf(captured));
+                }
+            }
+            int moved = remove(from);
+            int promotion = PackedMove.promotionType(move);
+            put(to, promotion != 0 ? code(promotion, white) : moved);
+            if (PackedMove.isCastle(move)) {
+                moveCastlingRook(from, to, false);
+            }
+            if (typeOf(moved) == Piece.PAWN_INDEX && Math.abs(to - from) == 16) {
+                setEnPassantSquare((from + to) >>> 1);
+            }
+            setCastlingRights(castlingRights & CASTLE_KEEP[from] & CASTLE_KEEP[to]);
+        }
+        setWhiteToMove(!white);
+    }
+
+    /**
+     * Takes back the last {@link #makeMove(int)}; {@code move} must be the same move.
+     */
+    public void unmakeMove(int move) {
+        setWhiteToMove(!whiteToMove);
+        boolean white = whiteToMove;
+        int to = PackedMove.to(move);
+        undoTop--;
+        setCastlingRights(undoCastling[undoTop]);
+        setEnPassantSquare(undoEnPassant[undoTop]);
+
+        if (PackedMove.isDrop(move)) {
+            remove(to);
+            addToPocket(white, PackedMove.dropType(move));
+        } else {
+            int from = PackedMove.from(move);
+            int moved = remove(to);
+            if (PackedMove.promotionType(move) != 0) {
+                moved = code(Piece.PAWN_INDEX, white);
+            }
+            put(from, moved);
+            int captured = undoCaptured[undoTop];
+            if (captured != NO_PIECE) {
+                put(to, captured);
+                if (typeOf(captured) != Piece.KING_INDEX) {
+                    removeFromPocket(white, typeOf(captured));
+                }
+            }
+            if (PackedMove.isCastle(move)) {
+                moveCastlingRook(from, to, true);
+            }
+        }
+    }
+
+    /**
+     * Passes the move to the other side without moving anything (for null-move pruning);
+     * taken back with {@link #unmakeNullMove()}.
+     */
+    public void makeNullMove() {
+        if (undoTop == undoCaptured.length) {
+            undoCaptured = Arrays.copyOf(undoCaptured, undoTop * 2);
+            undoCastling = Arrays.copyOf(undoCastling, undoTop * 2);
+            undoEnPassant = Arrays.copyOf(undoEnPassant, undoTop * 2);
+        }
+        undoCaptured[undoTop] = NO_PIECE;
+        undoCastling[undoTop] = castlingRights;
+        undoEnPassant[undoTop++] = enPassantSquare;
+        setEnPassantSquare(-1);
+        setWhiteToMove(!whiteToMove);
+    }
+
+    public void unmakeNullMove() {
+        setWhiteToMove(!whiteToMove);
+        setEnPassantSquare(undoEnPassant[--undoTop]);
+    }
+
+    /**
+     * True if the given side has a piece other than pawns and king on the board or any
+     * piece in its pocket, i.e. it is unlikely to be in zugzwang.
+     */
+    public boolean hasNonPawnMaterial(boolean isWhite) {
+        long pieces = colorMask(isWhite) & ~pieces(Piece.PAWN_INDEX, isWhite) & ~pieces(Piece.KING_INDEX, isWhite);
+        if (pieces != 0) {
+            return true;
+        }
+        for (int type = 0; type < POCKET_TYPES; type++) {
+            if (pocketCount(isWhite, type) > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void moveCastlingRook(int kingFrom, int kingTo, boolean undo) {
+        int rookFrom = kingTo > kingFrom ? kingFrom + 3 : kingFrom - 4;
+        int rookTo = kingTo > kingFrom ? kingFrom + 1 : kingFrom - 1;
+        if (undo) {
+            move(rookTo, rookFrom);
+        } else {
+            move(rookFrom, rookTo);
+        }
+    }
+
+    /**
+     * Immutable snapshot of the position without its working state, for history and caches.
+     */
+    public CompactPosition compact() {
+        return new CompactPosition(this);
+    }
+
+    /**
+     * Deep copy of the position.
+     */
+    public Position copy() {
+        try {
+            Position p = (Position) super.clone();
+            p.pieceMasks = pieceMasks.clone();
+            p.colorMasks = colorMasks.clone();
+            p.mailbox = mailbox.clone();
+            p.pockets = pockets.clone();
+            p.psqScore = psqScore.clone();
+            p.pawnFiles = pawnFiles.clone();
+            // The copy generates its own attack maps when first asked for
+            p.attackMap = null;
+            p.attacksValid = false;
+            p.undoCaptured = undoCaptured.clone();
+            p.undoCastling = undoCastling.clone();
+            p.undoEnPassant = undoEnPassant.clone();
+            return p;
+        } catch (CloneNotSupportedException e) {
+            throw new AssertionError("Clone not supported", e);
+        }
+    }
+}
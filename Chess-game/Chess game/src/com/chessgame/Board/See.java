@@ -0,0 +1,162 @@
+package com.chessgame.Board;
+
+import com.chessgame.Pieces.Piece;
+
+/**
+ * Static exchange evaluation on a {@link Position}: the material outcome of the capture
+ * sequence on one square, with each side recapturing with its least valuable attacker and
+ * free to stop when going on would lose more. Attackers come from bitboards; after each
+ * capture the square is probed again through the emptied line, so rooks, bishops and
+ * queens standing behind another slider (x-rays) join in.
+ *
+ * Values are {@link PieceSquareTables#MATERIAL} units. In crazyhouse every captured piece
+ * also goes to the capturer's pocket, which doubles each step of the exchange for both
+ * sides alike; signs and comparisons are unaffected, so the result is given undoubled.
+ * Drops cannot capture, so pocket pieces only take part as the move being evaluated: a
+ * drop is scored as the exchange the opponent can start on the dropped piece. Pins are
+ * not taken into account.
+ *
+ * The exchange is worked out in a scratch array of gains. Callers that evaluate many
+ * exchanges, like the search, pass in their own array from {@link #newBuffer()} so the
+ * evaluation allocates nothing; the variants without one allocate it per call.
+ */
+public final class See {
+    // Stands in for the king's value, so that capturing into a defended square with it never pays
+    private static final int KING_VALUE = 50000;
+    // Deepest possible exchange: every piece on the board takes part
+    private static final int MAX_EXCHANGE = 32;
+
+    private See() {
+    }
+
+    /**
+     * A scratch array for the variants taking one; not to be shared between threads.
+     */
+    public static int[] newBuffer() {
+        return new int[MAX_EXCHANGE];
+    }
+
+    /**
+     * Material the side playing {@code move} gains on the target square once the exchange
+     * there is over (negative if it loses material). {@code move} must be playable in
+     * {@code pos}, whose side to move makes it.
+     */
+    public static int see(Position pos, int move) {
+        return see(pos, move, newBuffer());
+    }
+
+    /**
+     * {@link #see(Position, int)} working in {@code gain}, an array from {@link #newBuffer()}.
+     */
+    public static int see(Position pos, int move, int[] gain) {
+        int to = PackedMove.to(move);
+        long occupied = pos.occupied();
+        int onSquare;
+        boolean side;
+        if (PackedMove.isDrop(move)) {
+            side = pos.isWhiteToMove();
+            gain[0] = 0;
+            onSquare = value(PackedMove.dropType(move));
+            occupied |= Position.bit(to);
+        } else {
+            int from = PackedMove.from(move);
+            int moved = pos.pieceAt(from);
+            int captured = pos.pieceAt(to);
+            side = Position.isWhiteCode(moved);
+            gain[0] = captured == Position.NO_PIECE ? 0 : value(Position.typeOf(captured));
+            onSquare = value(Position.typeOf(moved));
+            int promotion = PackedMove.promotionType(move);
+            if (promotion != 0) {
+                gain[0] += value(promotion) - value(Piece.PAWN_INDEX);
+                onSquare = value(promotion);
+            }
+            occupied ^= Position.bit(from);
+        }
+        return exchange(pos, to, !side, occupied, gain, onSquare);
+    }
+
+    /**
+     * True if {@code move} does not lose more than {@code -threshold} material in the exchange.
+     */
+    public static boolean seeGe(Position pos, int move, int threshold) {
+        return see(pos, move) >= threshold;
+    }
+
+    public static boolean seeGe(Position pos, int move, int threshold, int[] gain) {
+        return see(pos, move, gain) >= threshold;
+    }
+
+    /**
+     * Material the given side wins by starting the exchange on the piece standing on
+     * {@code sq}; 0 if capturing it does not pay (the side can always decline).
+     */
+    public static int threat(Position pos, int sq, boolean byWhite) {
+        return threat(pos, sq, byWhite, newBuffer());
+    }
+
+    /**
+     * {@link #threat(Position, int, boolean)} working in {@code gain}, an array from
+     * {@link #newBuffer()}.
+     */
+    public static int threat(Position pos, int sq, boolean byWhite, int[] gain) {
+        int target = pos.pieceAt(sq);
+        if (target == Position.NO_PIECE) {
+            return 0;
+        }
+        // The piece is "captured" for free before the first step, so that the exchange
+        // below starts with the attacker taking it
+        gain[0] = 0;
+        int result = exchange(pos, sq, byWhite, pos.occupied(), gain, value(Position.typeOf(target)));
+        return Math.max(-result, 0);
+    }
+
+    /**
+     * Runs the exchange on {@code to}, where the piece worth {@code onSquare} has just
+     * arrived for {@code gain[0]}, with {@code side} to recapture; returns the minimaxed
+     * gain of the side that made the first capture.
+     */
+    private static int exchange(Position pos, int to, boolean side, long occupied, int[] gain, int onSquare) {
+        long attackers = (pos.attackersTo(to, true, occupied) | pos.attackersTo(to, false, occupied)) & occupied;
+        long diagonal = pos.pieces(Piece.BISHOP_INDEX, true) | pos.pieces(Piece.BISHOP_INDEX, false)
+                | pos.pieces(Piece.QUEEN_INDEX, true) | pos.pieces(Piece.QUEEN_INDEX, false);
+        long straight = pos.pieces(Piece.ROOK_INDEX, true) | pos.pieces(Piece.ROOK_INDEX, false)
+                | pos.pieces(Piece.QUEEN_INDEX, true) | pos.pieces(Piece.QUEEN_INDEX, false);
+
+        int depth = 0;
+        while (depth + 1 < MAX_EXCHANGE) {
+            long own = attackers & pos.colorMask(side);
+            if (own == 0) {
+                break;
+            }
+            int type = Piece.PAWN_INDEX;
+            long attacker = 0;
+            for (; type <= Piece.KING_INDEX; type++) {
+                attacker = own & pos.pieces(type, side);
+                if (attacker != 0) break;
+            }
+            // The king may only take last: it cannot capture into a square still attacked
+            if (type == Piece.KING_INDEX && (attackers & pos.colorMask(!side)) != 0) {
+                break;
+            }
+            // gain[depth]: what the side capturing now has if the exchange ends here
+            depth++;
+            gain[depth] = onSquare - gain[depth - 1];
+            onSquare = value(type);
+            occupied ^= Long.lowestOneBit(attacker);
+            // Sliders behind the piece that just captured now see the square
+            attackers |= (Attacks.bishop(to, occupied) & diagonal) | (Attacks.rook(to, occupied) & straight);
+            attackers &= occupied;
+            side = !side;
+        }
+        // Each side stops as soon as going on would leave it worse off
+        while (depth > 0) {
+            gain[depth - 1] = -Math.max(-gain[depth - 1], gain[depth]);
+            depth--;
+        }
+        return gain[0];
+    }
+
+    private static int value(int typeIndex) {
+        return typeIndex == Piece.KING_INDEX ? KING_VALUE : PieceSquareTables.MATERIAL[typeIndex];
+    }
+}
@@ -0,0 +1,40 @@
+package com.chessgame.Board;
+
+import com.chessgame.Pieces.Piece;
+
+/**
+ * Everything {@link Board#unmakeMove()} / {@link Board#unmakeDrop()} needs to restore a position:
+ * the moved (or dropped) piece, the captured piece and the list slot it occupied,
+ * the castling rook, the move-dependent piece flags (castling rights and en passant state)
+ * and the pocket type that was credited or debited.
+ *
+ * Entries are preallocated by the board and reused, so making a move does not allocate.
+ */
+class UndoEntry {
+    boolean drop;
+
+    int fromSq;
+    int toSq;
+    Piece moved;
+    int movedState;
+
+    Piece captured;
+    int capturedSq;
+    int capturedSlot;
+
+    Piece rook;
+    int rookFromSq;
+    int rookToSq;
+    int rookState;
+
+    // Piece type added to (capture) or taken from (drop) the mover's pocket, or -1
+    int pocketType;
+
+    void reset() {
+        drop = false;
+        moved = null;
+        captured = null;
+        rook = null;
+        pocketType = -1;
+    }
+}
@@ -3,9 +3,16 @@ package com.chessgame.Frame;
 import javax.swing.*;
 import java.awt.*;
 import com.chessgame.Game.Game;
+import com.chessgame.Game.GameListener;
+import com.chessgame.Game.GameResult;
 import com.chessgame.Game.ToolShed;
+import com.chessgame.Setup.GameSetupFrame;
 
-public class Frame extends JFrame {
+/**
+ * The game window: the board panel between the two tool sheds. It follows its game as a
+ * {@link GameListener}, repainting after every move and offering a new game at the end.
+ */
+public class Frame extends JFrame implements GameListener {
 
     private static final long serialVersionUID = -4442947819954124379L;
     public static final int WIDTH = 640;
@@ -14,6 +21,8 @@ public class Frame extends JFrame {
     private ToolShed whiteToolShed;
     private ToolShed blackToolShed;
     private Game game;
+    private boolean userIsWhite;
+    private JPanel chessPanel;
 
     /**
      * New constructor that accepts user color choice and game mode.
@@ -21,31 +30,28 @@ public class Frame extends JFrame {
      * @param userMode Player vs Player or Player vs Computer
      */
     public Frame(boolean userIsWhite, Game.Mode userMode) {
+        this.userIsWhite = userIsWhite;
         // Create the Game object
         game = new Game();
         
         // Set the game mode
         game.setGameMode(userMode);
+
+        // The game only reports moves and the end; the dialogs belong to the window
+        game.addGameListener(this);
         
         // -- Added AI settings --
         if(userMode == Game.Mode.PLAYER_VS_COMPUTER) {
-            if(!userIsWhite) {
-                // User is Black => set AI to play as White
-                Game.setAiIsWhite(true);
-            } else {
-                // User is White => set AI to play as Black
-                Game.setAiIsWhite(false);
-            }
+            // The AI plays the other color
+            game.setAiIsWhite(!userIsWhite);
         }
         
-        game.checkAndPerformAIMove();
-        
-        // Get the tool sheds
-        whiteToolShed = game.getWhiteToolShed();
-        blackToolShed = game.getBlackToolShed();
+        // The tool sheds show the pockets and follow the game themselves
+        whiteToolShed = new ToolShed("White", game);
+        blackToolShed = new ToolShed("Black", game);
 
         // Create the chess panel, passing game and user color
-        JPanel chessPanel = new Panel(game, userIsWhite);
+        chessPanel = new Panel(game, userIsWhite);
 
         // Window (frame) settings
         this.setTitle("Chess");
@@ -66,12 +72,47 @@ public class Frame extends JFrame {
         // Finalize
         this.pack();
         this.setLocationRelativeTo(null);
+
+        game.checkAndPerformAIMove();
     }
 
     public Frame() {
         this(true, Game.Mode.PLAYER_VS_PLAYER);
     }
 
+    @Override
+    public void moveMade(int move) {
+        chessPanel.repaint();
+    }
+
+    /**
+     * Announces the result and lets the user play again, return to the setup menu or exit.
+     */
+    @Override
+    public void gameOver(GameResult result) {
+        JOptionPane.showMessageDialog(null, result.getMessage());
+        Object[] options = {"Play Again", "Return to Setup Menu", "Exit"};
+        int choice = JOptionPane.showOptionDialog(null, 
+            "Choose an option:", 
+            "Game Over", 
+            JOptionPane.DEFAULT_OPTION, 
+            JOptionPane.QUESTION_MESSAGE, 
+            null, 
+            options, 
+            options[0]);
+
+        game.removeGameListener(this);
+        if (choice == 0) {
+            dispose();
+            new Frame(userIsWhite, game.getGameMode()).setVisible(true);
+        } else if (choice == 1) {
+            dispose();
+            new GameSetupFrame().setVisible(true);
+        } else {
+            System.exit(0);
+        }
+    }
+
     public ToolShed getWhiteToolShed() {
         return whiteToolShed;
     }
@@ -49,8 +49,8 @@ public class Panel extends JPanel {
                     game.transplantPiece(game.getSelectedPieceForTransplant(), x, y);
                     game.setTransplantMode(false);
                 } else {
-                    Game.drag = false;
-                    game.active = null;
+                    game.setDragging(false);
+                    game.setActivePiece(null);
                     game.selectPiece(x, y);
                 }
                 revalidate();
@@ -66,7 +66,7 @@ public class Panel extends JPanel {
                 ti = 7 - ti;
                 tj = 7 - tj;
             }
-            if (Game.board.getPiece(ti, tj) != null) {
+            if (game.getBoard().getPiece(ti, tj) != null) {
                 setCursor(new Cursor(Cursor.HAND_CURSOR));
             } else {
                 setCursor(new Cursor(Cursor.DEFAULT_CURSOR));
@@ -84,11 +84,11 @@ public class Panel extends JPanel {
                     x = 7 - x;
                     y = 7 - y;
                 }
-                if (!Game.drag && game.active != null) {
-                    game.active = null;
+                if (!game.isDragging() && game.getActivePiece() != null) {
+                    game.setActivePiece(null);
                 }
                 game.selectPiece(x, y);
-                Game.drag = true;
+                game.setDragging(true);
                 // Save drag offset (no coordinate flip needed here)
                 xx = e.getX();
                 yy = e.getY();
@@ -9,44 +9,49 @@ import java.util.*;
 import javax.swing.JOptionPane;
 import javax.swing.SwingUtilities;
 import javax.swing.JPanel;
-import javax.swing.JFrame;
 
 import com.chessgame.Ai.AIGameEngine;
+import com.chessgame.Board.AttackMap;
 import com.chessgame.Board.Board;
+import com.chessgame.Board.Fen;
 import com.chessgame.Board.Move;
+import com.chessgame.Board.PackedMove;
+import com.chessgame.Board.Position;
 import com.chessgame.Pieces.*;
-import com.chessgame.Setup.GameSetupFrame;
-import com.chessgame.Frame.Frame;
 
+/**
+ * The Swing game: a {@link GameState} plus what the window needs to play it with the mouse
+ * (the selected piece, dragging, transplant mode, the game mode and the AI's color). The
+ * board, the side to move and the pockets all come from the GameState, so the window plays
+ * by the same {@link com.chessgame.Board.MoveGenerator} rules as the server, and every
+ * Game is independent of the others.
+ *
+ * The pieces drawn are a {@link Board} rebuilt from the GameState after every move; the
+ * pieces of the side to move carry their legal moves for highlighting. The frame and the
+ * tool sheds follow the game as {@link GameListener}s.
+ */
 public class Game {
-    public static Board board = new Board();
+    // Promotion dialog choices, in the order showMessageForPromotion offers them
+    private static final int[] PROMOTION_TYPES = {
+            Piece.QUEEN_INDEX, Piece.ROOK_INDEX, Piece.KNIGHT_INDEX, Piece.BISHOP_INDEX
+    };
 
-    static King wk;
-    static King bk;
-    static ArrayList<Piece> wPieces = new ArrayList<>();
-    static ArrayList<Piece> bPieces = new ArrayList<>();
+    private GameState state;
+    // Pieces of the state's position, for drawing; rebuilt by update()
+    private Board board;
+    // Legal moves of the side to move, as of the last update()
+    private int[] legalMoves;
 
-    public static boolean player = true; 
-    public static Piece active = null;
-    public static boolean drag = false;
-    public static ArrayList<Piece> AllPieces = new ArrayList<>();
+    private Piece active;
+    private boolean drag;
 
-    static List<Move> allPlayersMove = new ArrayList<>();
-    public static List<Move> allEnemysMove = new ArrayList<>();
-    private static boolean gameOver = false;
-
-    private static ToolShed whiteToolShed;
-    private static ToolShed blackToolShed;
     private boolean transplantMode = false;
     private String pieceToTransplant = null;
     // Cache the allowed transplant cells for the current transplant mode
     private List<Point> allowedTransplantCells;
 
-    // Flag: if user is White => true, else false (user color)
-    public static boolean isUserWhiteGame = true; 
-
     // AI color flag (true = AI is white, false = AI is black)
-    static boolean aiIsWhite = false;
+    private boolean aiIsWhite = false;
 
     public enum Mode {
         PLAYER_VS_PLAYER,
@@ -54,39 +59,53 @@ public class Game {
     }
     private Mode gameMode = Mode.PLAYER_VS_PLAYER;
 
-    // Static variable to hold the current Game instance
-    public static Game currentGame;
+    // Front ends following this game (the frame, the tool sheds)
+    private final List<GameListener> listeners = new ArrayList<>();
+    // Registered on the current state: updates the board, then passes the events on
+    private final GameListener stateListener = new GameListener() {
+        @Override
+        public void moveMade(int move) {
+            update();
+            for (GameListener listener : new ArrayList<>(listeners)) {
+                listener.moveMade(move);
+            }
+        }
+
+        @Override
+        public void gameOver(GameResult result) {
+            for (GameListener listener : new ArrayList<>(listeners)) {
+                listener.gameOver(result);
+            }
+        }
+    };
 
     public Game() {
         new PieceImages();
-        whiteToolShed = new ToolShed("White", this);
-        blackToolShed = new ToolShed("Black", this);
-
-        currentGame = this;
-        
-        // Load starting position via FEN – default: white's turn ("w")
-        loadFenPosition("rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1");
-        start();
+        loadPosition(Fen.START);
     }
 
     /**
      * Checks and performs an AI move if needed.
      */
     public void checkAndPerformAIMove() {
-        if (gameMode == Mode.PLAYER_VS_COMPUTER && player == aiIsWhite && !gameOver) {
+        if (isAiTurn()) {
             SwingUtilities.invokeLater(() -> {
                 AIGameEngine.performHeuristicMove(Game.this);
             });
         }
     }
 
+    private boolean isAiTurn() {
+        return gameMode == Mode.PLAYER_VS_COMPUTER && state.isWhiteToMove() == aiIsWhite && !isGameOver();
+    }
+
     // --------------------------
     // DRAW LOGIC
     // --------------------------
     public void draw(Graphics g, int x, int y, JPanel panel, boolean isUserWhite) {
         drawBoard(g, isUserWhite);
         drawPieces(g, panel, isUserWhite);
-        drawPossibleMoves(g, panel, isUserWhite);  
+        drawPossibleMoves(g, panel, isUserWhite);
         drag(active, x, y, g, panel);
         drawKingInCheck(isUserWhite, g, panel);
     }
@@ -106,7 +125,7 @@ public class Game {
      * Draws all pieces using a temporary coordinate flip.
      */
     public void drawPieces(Graphics g, JPanel panel, boolean isUserWhite) {
-        for (Piece p : AllPieces) {
+        for (Piece p : board.getAllPieces()) {
             int origX = p.getXcord();
             int origY = p.getYcord();
             int drawX = flipCoord(origX, isUserWhite);
@@ -126,28 +145,31 @@ public class Game {
         Graphics2D g2 = (Graphics2D) g;
         g2.setStroke(new BasicStroke(3));
         if (active != null) {
-            active.showMoves(g2, panel, isUserWhite);
+            active.showMoves(g2, panel, isUserWhite, drag);
         } else if (transplantMode) {
             drawAvailableTransplantCells(g2, isUserWhite);
         }
     }
 
     /**
-     * Draws green dots on empty cells for transplant positions, with coordinate flip.
-     * For Pawn, only cells whose row is between 1 and 6 are drawn.
+     * Draws dots on the cells the selected piece can be transplanted to, with coordinate flip:
+     * green where it would be safe, orange where the opponent attacks the cell.
      */
     private void drawAvailableTransplantCells(Graphics2D g2, boolean isUserWhite) {
-        g2.setColor(new Color(34, 139, 34));
+        AttackMap attacks = board.getPosition().attacks();
+        boolean opponentIsWhite = !state.isWhiteToMove();
         int dotSize = Piece.size / 3;
         // Use cached allowed cells if available; otherwise compute now
         List<Point> allowed = allowedTransplantCells;
         if (allowed == null) {
             allowed = computeAllowedTransplantCells();
         }
-    
+
         for (Point cell : allowed) {
             int col = cell.x;
             int row = cell.y;
+            boolean attacked = attacks.isAttacked(Position.square(col, row), opponentIsWhite);
+            g2.setColor(attacked ? new Color(230, 126, 34) : new Color(34, 139, 34));
             int drawCol = flipCoord(col, isUserWhite);
             int drawRow = flipCoord(row, isUserWhite);
             int x = drawCol * Piece.size + (Piece.size - dotSize) / 2;
@@ -157,20 +179,22 @@ public class Game {
     }
 
     /**
-     * Draws a red rectangle around a king that is in check.
+     * Draws a red rectangle around a king that is in check, read from the position's attack maps.
      */
     public void drawKingInCheck(boolean isUserWhite, Graphics g, JPanel panel) {
         g.setColor(Color.RED);
-        drawSingleKingInCheck(wk, isUserWhite, g);
-        drawSingleKingInCheck(bk, isUserWhite, g);
+        drawSingleKingInCheck(true, isUserWhite, g);
+        drawSingleKingInCheck(false, isUserWhite, g);
         panel.revalidate();
         panel.repaint();
     }
 
-    private void drawSingleKingInCheck(King king, boolean isUserWhite, Graphics g) {
-        if (king != null && king.isInCheck()) {
-            int kingX = flipCoord(king.getXcord(), isUserWhite);
-            int kingY = flipCoord(king.getYcord(), isUserWhite);
+    private void drawSingleKingInCheck(boolean white, boolean isUserWhite, Graphics g) {
+        Position position = board.getPosition();
+        int king = position.kingSquare(white);
+        if (king >= 0 && position.attacks().isAttacked(king, !white)) {
+            int kingX = flipCoord(Position.fileOf(king), isUserWhite);
+            int kingY = flipCoord(Position.rowOf(king), isUserWhite);
             g.drawRect(kingX * Piece.size, kingY * Piece.size, Piece.size, Piece.size);
         }
     }
@@ -178,9 +202,14 @@ public class Game {
     // --------------------------
     // selectPiece
     // --------------------------
+    /**
+     * Selects the piece on board cell (x, y) if it belongs to the side to move, or in
+     * transplant mode transplants the selected piece there.
+     */
     public void selectPiece(int x, int y) {
-        int realX = isUserWhiteGame ? x : 7 - x;
-        int realY = isUserWhiteGame ? y : 7 - y;
+        if (isAiTurn()) {
+            return;
+        }
         if (transplantMode) {
             // Use the cached allowed transplant cells to validate the selection
             if (allowedTransplantCells == null) {
@@ -188,7 +217,7 @@ public class Game {
             }
             boolean isAllowed = false;
             for (Point cell : allowedTransplantCells) {
-                if (cell.x == realX && cell.y == realY) {
+                if (cell.x == x && cell.y == y) {
                     isAllowed = true;
                     break;
                 }
@@ -197,38 +226,29 @@ public class Game {
                 JOptionPane.showMessageDialog(null, "You selected an unmarked cell. Please select a highlighted cell.");
                 return;
             }
-            if (board.getPiece(realX, realY) != null) {
-                JOptionPane.showMessageDialog(null, "Selected cell is occupied.");
-                return;
-            }
-            transplantPiece(pieceToTransplant, realX, realY);
-            transplantMode = false;
-            pieceToTransplant = null;
-            allowedTransplantCells = null; // Clear the cache after transplant
-        } else if (active == null && board.getPiece(realX, realY) != null 
-                && board.getPiece(realX, realY).isWhite() == player) {
-            active = board.getPiece(realX, realY);
+            transplantPiece(pieceToTransplant, x, y);
+        } else if (active == null && board.getPiece(x, y) != null
+                && board.getPiece(x, y).isWhite() == state.isWhiteToMove()) {
+            active = board.getPiece(x, y);
         }
     }
-    
+
+    /**
+     * Moves the selected piece to board cell (x, y) if that is a legal move; a pawn reaching
+     * the last row asks for the piece it becomes.
+     *
+     * @return the captured piece, or null if there was none or no move was made
+     */
     public Piece move(int x, int y) {
-        int realX = isUserWhiteGame ? x : 7 - x;
-        int realY = isUserWhiteGame ? y : 7 - y;
         if (active != null) {
-            Piece capturedPiece = board.getPiece(realX, realY);
-            boolean moveSuccessful = active.makeMove(realX, realY, board);
-            if (moveSuccessful) {
-                tryToPromote(active);
-                if (capturedPiece != null) {
-                    addCapturedPieceToToolShed(capturedPiece);
-                }
-                changeSide();
-                if (gameMode == Mode.PLAYER_VS_COMPUTER && player == aiIsWhite && !gameOver) {
-                    SwingUtilities.invokeLater(() -> {
-                        AIGameEngine.performHeuristicMove(Game.this);
-                    });
+            Piece capturedPiece = board.getPiece(x, y);
+            int move = findMove(Position.square(active.getXcord(), active.getYcord()), Position.square(x, y),
+                    Piece.QUEEN_INDEX);
+            if (move != PackedMove.NONE) {
+                if (PackedMove.promotionType(move) != 0) {
+                    move = findMove(PackedMove.from(move), PackedMove.to(move), choosePromotionType());
                 }
-                active = null;
+                play(move);
                 return capturedPiece;
             }
             drag = false;
@@ -236,56 +256,57 @@ public class Game {
         return null;
     }
 
+    // The legal board move from -> to, promoting to promotionType if it is a promotion, or NONE
+    private int findMove(int from, int to, int promotionType) {
+        for (int move : legalMoves) {
+            if (!PackedMove.isDrop(move) && PackedMove.from(move) == from && PackedMove.to(move) == to
+                    && (PackedMove.promotionType(move) == 0 || PackedMove.promotionType(move) == promotionType)) {
+                return move;
+            }
+        }
+        return PackedMove.NONE;
+    }
+
+    /**
+     * Plays a legal {@link PackedMove} of the side to move, then lets the AI answer if it is
+     * its turn.
+     *
+     * @throws IllegalArgumentException if the move is not legal
+     */
+    public void play(int move) {
+        active = null;
+        drag = false;
+        transplantMode = false;
+        pieceToTransplant = null;
+        allowedTransplantCells = null;
+        state.play(move);
+        checkAndPerformAIMove();
+    }
+
     // --------------------------
     // Pawn promotion
     // --------------------------
-    public void tryToPromote(Piece p) {
-        if (p instanceof Pawn) {
-            Pawn pawn = (Pawn) p;
-            if (pawn.madeToTheEnd()) {
-                if (gameMode == Mode.PLAYER_VS_COMPUTER && p.isWhite() == Game.isAiIsWhite()) {
-                    choosePiece(p, 0); // 0 => "Queen"
-                } else {
-                    int choice = showMessageForPromotion();
-                    choosePiece(p, choice);
-                }
-            }
-        }
+    // Piece type a promoting pawn of the user becomes; closing the dialog chooses a queen
+    private int choosePromotionType() {
+        int choice = showMessageForPromotion();
+        return choice >= 0 && choice < PROMOTION_TYPES.length ? PROMOTION_TYPES[choice] : Piece.QUEEN_INDEX;
     }
 
     public int showMessageForPromotion() {
         Object[] options = { "Queen", "Rook", "Knight", "Bishop" };
         drag = false;
         return JOptionPane.showOptionDialog(
-            null, 
-            "Choose piece to promote to", 
+            null,
+            "Choose piece to promote to",
             null,
             JOptionPane.YES_NO_CANCEL_OPTION,
-            JOptionPane.QUESTION_MESSAGE, 
-            null, 
-            options, 
+            JOptionPane.QUESTION_MESSAGE,
+            null,
+            options,
             options[0]
         );
     }
 
-    public static void choosePiece(Piece p, int choice) {
-        AllPieces.remove(p);
-        int x = p.getXcord();
-        int y = p.getYcord();
-        boolean isWhite = p.isWhite();
-        Board brd = Game.board;
-
-        switch (choice) {
-            case 0: p = new Queen(x, y, isWhite, brd, isWhite ? 8 : -8); break;
-            case 1: p = new Rook(x, y, isWhite, brd, isWhite ? 5 : -5); break;
-            case 2: p = new Knight(x, y, isWhite, brd, isWhite ? 3 : -3); break;
-            case 3: p = new Bishop(x, y, isWhite, brd, isWhite ? 3 : -3); break;
-            default: p = new Queen(x, y, isWhite, brd, isWhite ? 8 : -8); break;
-        }
-        AllPieces.add(p);
-        fillPieces();
-    }
-
     // --------------------------
     // Turn checking
     // --------------------------
@@ -293,195 +314,47 @@ public class Game {
      * Checks if it's the specified player's turn.
      */
     public boolean isPlayerTurn(String playerColor) {
-        return (playerColor.equals("White") && player) || (playerColor.equals("Black") && !player);
+        boolean white = state.isWhiteToMove();
+        return (playerColor.equals("White") && white) || (playerColor.equals("Black") && !white);
     }
 
     // --------------------------
     // Other game logic
     // --------------------------
-    public static void generatePlayersTurnMoves(Board board) {
-        allPlayersMove = new ArrayList<>();
-        for (Piece p : AllPieces) {
-            if (p.isWhite() == player) {
-                p.fillAllPseudoLegalMoves(board);
-                allPlayersMove.addAll(p.getMoves());
-            }
-        }
-    }
-
-    public static void generateEnemysMoves(Board board) {
-        allEnemysMove = new ArrayList<>();
-        for (Piece p : AllPieces) {
-            if (p.isWhite() != player) {
-                p.fillAllPseudoLegalMoves(board);
-                allEnemysMove.addAll(p.getMoves());
-            }
-        }
-    }
-
-    public static void changeSide() {
-        active = null;
-        if (currentGame != null) {
-            currentGame.setTransplantMode(false);
-            currentGame.pieceToTransplant = null;
-            currentGame.allowedTransplantCells = null;
-        }
-        player = !player;
-        generateEnemysMoves(board);
-        generatePlayersTurnMoves(board);
-        checkPlayersLegalMoves();
-        checkMate();
-    }
-
-    public static void checkPlayersLegalMoves() {
-        List<Piece> pieces = player ? wPieces : bPieces;
-        for (Piece p : pieces) {
-            checkLegalMoves(p);
-        }
-    }
-
-    public static void checkLegalMoves(Piece piece) {
-        List<Move> movesToRemove = new ArrayList<>();
-        for (Move move : piece.getMoves()) {
-            Board clonedBoard = board.clone();
-            Piece clonedActive = piece.clone();
-            clonedActive.makeMove(move.getToX(), move.getToY(), clonedBoard);
-
-            List<Piece> enemyPieces = piece.isWhite() ? bPieces : wPieces;
-            Piece king = piece.isWhite() ? wk : bk;
-            for (Piece enemyP : enemyPieces) {
-                Piece clonedEnemyPiece = enemyP.clone();
-                clonedEnemyPiece.fillAllPseudoLegalMoves(clonedBoard);
-                for (Move bMove : clonedEnemyPiece.getMoves()) {
-                    Piece occupant = clonedBoard.getPiece(enemyP.getXcord(), enemyP.getYcord());
-                    if (!(clonedActive instanceof King)
-                            && bMove.getToX() == king.getXcord()
-                            && bMove.getToY() == king.getYcord()
-                            && occupant != null 
-                            && occupant.getValueInTheboard() == enemyP.getValueInTheboard()) {
-                        movesToRemove.add(move);
-                    } else if (clonedActive instanceof King
-                            && bMove.getToX() == clonedActive.getXcord()
-                            && bMove.getToY() == clonedActive.getYcord()
-                            && occupant != null
-                            && occupant.getValueInTheboard() == enemyP.getValueInTheboard()) {
-                        movesToRemove.add(move);
-                    }
-                }
-            }
-        }
-        for (Move rem : movesToRemove) {
-            piece.getMoves().remove(rem);
-        }
-    }
-
-    public static void checkMate() {
-        boolean hasLegalMove = false;
-        List<Piece> pieces = player ? wPieces : bPieces;
-        for (Piece p : pieces) {
-            if (!p.getMoves().isEmpty()) {
-                hasLegalMove = true;
-                break;
-            }
-        }
-        if (hasLegalMove) return;
-
-        String resultMessage;
-        if (player) {
-            resultMessage = (wk != null && wk.isInCheck()) 
-                ? "Checkmate! Black wins." 
-                : "Stalemate.";
-        } else {
-            resultMessage = (bk != null && bk.isInCheck()) 
-                ? "Checkmate! White wins." 
-                : "Stalemate.";
-        }
-        JOptionPane.showMessageDialog(null, resultMessage);
-        gameOver = true;
-        Object[] options = {"Play Again", "Return to Setup Menu", "Exit"};
-        int choice = JOptionPane.showOptionDialog(null, 
-            "Choose an option:", 
-            "Game Over", 
-            JOptionPane.DEFAULT_OPTION, 
-            JOptionPane.QUESTION_MESSAGE, 
-            null, 
-            options, 
-            options[0]);
-
-        JFrame currentFrame = (JFrame) SwingUtilities.getWindowAncestor(currentGame.getWhiteToolShed());
-        resetStaticData();
-        if (choice == 0) {
-            if (currentFrame != null) {
-                currentFrame.dispose();
-            }
-            new Frame(isUserWhiteGame, currentGame.getGameMode()).setVisible(true);
-        } else if (choice == 1) {
-            if (currentFrame != null) {
-                currentFrame.dispose();
-            }
-            new GameSetupFrame().setVisible(true);
-        } else {
-            System.exit(0);
-        }
-    }
-    
-    /**
-     * Resets all static game data for a full reinitialization.
-     */
-    public static void resetStaticData() {
-        board = new Board();
-        AllPieces = new ArrayList<>();
-        wPieces = new ArrayList<>();
-        bPieces = new ArrayList<>();
-        gameOver = false;
-        player = true;
-    }
-
     public void drag(Piece piece, int x, int y, Graphics g, JPanel panel) {
         if (piece != null && drag) {
-            piece.drawDrag(g, player, x, y, panel);
+            piece.drawDrag(g, state.isWhiteToMove(), x, y, panel);
         }
     }
 
-    public static void addCapturedPieceToToolShed(Piece capturedPiece) {
-        ToolShed currentToolShed = player ? whiteToolShed : blackToolShed;
-        currentToolShed.addCapturedPiece(capturedPiece);
-    }
-
     /**
-     * Transplant method – updates the board, adds the piece, removes it from the Tool Shed, and changes turn.
+     * Transplants a piece of the side to move from its pocket onto board cell (x, y).
      */
     public void transplantPiece(String pieceName, int x, int y) {
-        ToolShed currentToolShed = player ? whiteToolShed : blackToolShed;
-        int value = getValueForPiece(pieceName);
-
-        if (currentToolShed.getPieceCount(pieceName) <= 0) {
-            JOptionPane.showMessageDialog(null, 
-                "No pieces of type " + pieceName + " left in the Tool Shed.");
+        if (isAiTurn()) {
             return;
         }
-        Piece piece = currentToolShed.createPieceInstance(pieceName, x, y, board, value);
-        if (piece == null) {
-            JOptionPane.showMessageDialog(null, 
-                "Piece creation failed for piece: " + pieceName);
+        int type = ToolShed.getPieceTypeIndex(pieceName);
+        if (type < 0 || state.pocketCount(state.isWhiteToMove(), type) <= 0) {
+            JOptionPane.showMessageDialog(null,
+                "No pieces of type " + pieceName + " left in the Tool Shed.");
             return;
         }
-        board.setPieceIntoBoard(x, y, piece);
-        piece.setXcord(x);
-        piece.setYcord(y);
-        AllPieces.add(piece);
-        if (piece.isWhite()) {
-            wPieces.add(piece);
-        } else {
-            bPieces.add(piece);
-        }
-        currentToolShed.removePieceFromShed(pieceName);
-        changeSide();
-        if (gameMode == Mode.PLAYER_VS_COMPUTER && player == aiIsWhite && !gameOver) {
-            SwingUtilities.invokeLater(() -> {
-                AIGameEngine.performHeuristicMove(Game.this);
-            });
+        int drop = PackedMove.drop(type, Position.square(x, y));
+        if (!state.isLegal(drop)) {
+            JOptionPane.showMessageDialog(null,
+                "A " + pieceName + " cannot be transplanted to that cell.");
+            return;
         }
+        play(drop);
+    }
+
+    public void addGameListener(GameListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeGameListener(GameListener listener) {
+        listeners.remove(listener);
     }
 
     public void setSelectedPieceForTransplant(String pieceName) {
@@ -498,6 +371,9 @@ public class Game {
 
     public void setTransplantMode(boolean mode) {
         transplantMode = mode;
+        if (!mode) {
+            allowedTransplantCells = null;
+        }
     }
 
     /**
@@ -509,145 +385,142 @@ public class Game {
         allowedTransplantCells = computeAllowedTransplantCells();
         System.out.println("Transplant mode activated for piece: " + pieceName);
     }
-    
+
     /**
-     * Computes and returns the list of allowed transplant cells based on the current game state.
+     * The cells the selected piece can be transplanted to: its legal drops, so only cells
+     * blocking a check while the king is in check, and for Pawn only rows 1-6.
      */
     private List<Point> computeAllowedTransplantCells() {
         List<Point> allowed = new ArrayList<>();
-        King currentKing = player ? wk : bk;
-    
-        // If the king is not in check, any empty cell is allowed
-        if (!currentKing.isInCheck()) {
-            for (int col = 0; col < board.COLUMNS; col++) {
-                for (int row = 0; row < board.ROWS; row++) {
-                    if (board.getPiece(col, row) == null) {
-                        allowed.add(new Point(col, row));
-                    }
-                }
-            }
-        } else {
-            // When the king is in check, compute the cells that block the check
-            List<Piece> checkingPieces = new ArrayList<>();
-            List<Piece> enemyPieces = player ? bPieces : wPieces;
-            for (Piece enemy : enemyPieces) {
-                enemy.fillAllPseudoLegalMoves(board);
-                for (Move m : enemy.getMoves()) {
-                    if (m.getToX() == currentKing.getXcord() && m.getToY() == currentKing.getYcord()) {
-                        checkingPieces.add(enemy);
-                        break;
-                    }
-                }
-            }
-    
-            // If there is a double check, blocking via transplant is not possible
-            if (checkingPieces.size() == 1) {
-                Piece checker = checkingPieces.get(0);
-                // If the checking piece is a Knight or Pawn, blocking is not possible
-                if (!(checker instanceof Knight || checker instanceof Pawn)) {
-                    int dx = Integer.signum(currentKing.getXcord() - checker.getXcord());
-                    int dy = Integer.signum(currentKing.getYcord() - checker.getYcord());
-                    int x = checker.getXcord() + dx;
-                    int y = checker.getYcord() + dy;
-                    while (x != currentKing.getXcord() || y != currentKing.getYcord()) {
-                        allowed.add(new Point(x, y));
-                        x += dx;
-                        y += dy;
-                    }
-                }
+        if (pieceToTransplant == null) {
+            return allowed;
+        }
+        int type = ToolShed.getPieceTypeIndex(pieceToTransplant);
+        for (int move : legalMoves) {
+            if (PackedMove.isDrop(move) && PackedMove.dropType(move) == type) {
+                int sq = PackedMove.to(move);
+                allowed.add(new Point(Position.fileOf(sq), Position.rowOf(sq)));
             }
         }
-    
-        // For Pawn transplant, restrict allowed cells to rows 1-6
-        if (pieceToTransplant != null && pieceToTransplant.equals("Pawn")) {
-            allowed.removeIf(point -> point.y < 1 || point.y > 6);
-        }
         return allowed;
     }
 
-    public void loadFenPosition(String fenString) {
-        String[] parts = fenString.split(" ");
-        String position = parts[0];
-        int row = 0, col = 0;
-        for (char c : position.toCharArray()) {
-            if (c == '/') {
-                row++;
-                col = 0;
-            } else if (Character.isLetter(c)) {
-                addToBoard(col, row, c, Character.isUpperCase(c));
-                col++;
-            } else if (Character.isDigit(c)) {
-                col += Character.getNumericValue(c);
+    /**
+     * Replaces the current game with the position of a FEN string, optionally with pockets
+     * ({@link Fen}), e.g. "...RNBQKBNR[Qnp] w KQkq - 0 1": upper-case pocket letters go to
+     * White's tool shed, lower-case to Black's.
+     *
+     * @throws IllegalArgumentException if the FEN is invalid
+     */
+    public void loadPosition(String fenString) {
+        GameState loaded = new GameState(fenString);
+        if (state != null) {
+            state.removeListener(stateListener);
+        }
+        state = loaded;
+        state.addListener(stateListener);
+        active = null;
+        drag = false;
+        transplantMode = false;
+        pieceToTransplant = null;
+        allowedTransplantCells = null;
+        update();
+    }
+
+    /**
+     * Rebuilds the board drawn from the state's position, with the castling and en passant
+     * state on its kings, rooks and pawns, and gives each piece of the side to move its
+     * legal moves.
+     */
+    private void update() {
+        Position position = state.getPosition();
+        Board view = new Board();
+        for (int sq = 0; sq < Position.SQUARES; sq++) {
+            int code = position.pieceAt(sq);
+            if (code != Position.NO_PIECE) {
+                addToBoard(view, Position.fileOf(sq), Position.rowOf(sq), Position.typeOf(code),
+                        Position.isWhiteCode(code));
             }
         }
-        if (parts.length > 1) {
-            player = parts[1].equals("w");
+        for (int type = 0; type < Position.POCKET_TYPES; type++) {
+            view.getPosition().setPocketCount(true, type, position.pocketCount(true, type));
+            view.getPosition().setPocketCount(false, type, position.pocketCount(false, type));
+        }
+        view.getPosition().setWhiteToMove(position.isWhiteToMove());
+        view.getPosition().setCastlingRights(position.getCastlingRights());
+        view.getPosition().setEnPassantSquare(position.getEnPassantSquare());
+
+        int rights = position.getCastlingRights();
+        for (Piece p : view.getAllPieces()) {
+            if (p instanceof King) {
+                int own = p.isWhite() ? Position.CASTLE_WHITE_SHORT | Position.CASTLE_WHITE_LONG
+                        : Position.CASTLE_BLACK_SHORT | Position.CASTLE_BLACK_LONG;
+                ((King) p).setHasMoved((rights & own) == 0);
+            } else if (p instanceof Rook) {
+                ((Rook) p).setHasMoved((rights & castlingRight(Position.square(p.getXcord(), p.getYcord()))) == 0);
+            }
+        }
+        int enPassant = position.getEnPassantSquare();
+        if (enPassant >= 0) {
+            int pawnSquare = enPassant + (position.isWhiteToMove() ? 8 : -8);
+            Piece pawn = view.getPiece(Position.fileOf(pawnSquare), Position.rowOf(pawnSquare));
+            if (pawn instanceof Pawn) {
+                ((Pawn) pawn).setMoved2Squares(true);
+            }
         }
-    }
 
-    public static void fillPieces() {
-        wPieces = new ArrayList<>();
-        bPieces = new ArrayList<>();
-        for (Piece p : AllPieces) {
-            if (p.isWhite()) {
-                wPieces.add(p);
-            } else {
-                bPieces.add(p);
+        legalMoves = state.getLegalMoves();
+        for (int move : legalMoves) {
+            // One highlight per target square: promotions are listed once per piece type
+            int promotion = PackedMove.promotionType(move);
+            if (PackedMove.isDrop(move) || (promotion != 0 && promotion != Piece.QUEEN_INDEX)) {
+                continue;
             }
+            int from = PackedMove.from(move);
+            int to = PackedMove.to(move);
+            Piece piece = view.getPiece(Position.fileOf(from), Position.rowOf(from));
+            if (piece.getMoves().isEmpty()) {
+                piece.setMoves(new ArrayList<>());
+            }
+            piece.getMoves().add(new Move(piece.getXcord(), piece.getYcord(), Position.fileOf(to), Position.rowOf(to), piece));
+        }
+        board = view;
+    }
+
+    // The castling right that a rook on its corner square keeps, or 0
+    private static int castlingRight(int sq) {
+        switch (sq) {
+            case Position.WHITE_KING_HOME + 3: return Position.CASTLE_WHITE_SHORT;
+            case Position.WHITE_KING_HOME - 4: return Position.CASTLE_WHITE_LONG;
+            case Position.BLACK_KING_HOME + 3: return Position.CASTLE_BLACK_SHORT;
+            case Position.BLACK_KING_HOME - 4: return Position.CASTLE_BLACK_LONG;
+            default: return 0;
         }
     }
 
-    public void addToBoard(int x, int y, char c, boolean isWhite) {
-        switch (Character.toUpperCase(c)) {
-            case 'R':
-                AllPieces.add(new Rook(x, y, isWhite, board, isWhite ? 5 : -5));
+    private static void addToBoard(Board board, int x, int y, int typeIndex, boolean isWhite) {
+        switch (typeIndex) {
+            case Piece.ROOK_INDEX:
+                new Rook(x, y, isWhite, board, isWhite ? 5 : -5);
                 break;
-            case 'N':
-                AllPieces.add(new Knight(x, y, isWhite, board, isWhite ? 3 : -3));
+            case Piece.KNIGHT_INDEX:
+                new Knight(x, y, isWhite, board, isWhite ? 3 : -3);
                 break;
-            case 'B':
-                AllPieces.add(new Bishop(x, y, isWhite, board, isWhite ? 3 : -3));
+            case Piece.BISHOP_INDEX:
+                new Bishop(x, y, isWhite, board, isWhite ? 3 : -3);
                 break;
-            case 'Q':
-                AllPieces.add(new Queen(x, y, isWhite, board, isWhite ? 8 : -8));
+            case Piece.QUEEN_INDEX:
+                new Queen(x, y, isWhite, board, isWhite ? 8 : -8);
                 break;
-            case 'K':
-                King king = new King(x, y, isWhite, board, isWhite ? 10 : -10);
-                AllPieces.add(king);
-                if (isWhite) {
-                    wk = king;
-                } else {
-                    bk = king;
-                }
+            case Piece.KING_INDEX:
+                new King(x, y, isWhite, board, isWhite ? 10 : -10);
                 break;
-            case 'P':
-                AllPieces.add(new Pawn(x, y, isWhite, board, isWhite ? 1 : -1));
+            case Piece.PAWN_INDEX:
+                new Pawn(x, y, isWhite, board, isWhite ? 1 : -1);
                 break;
         }
     }
 
-    public static void highlightAvailableCellsForTransplant() {
-        for (int i = 0; i < board.COLUMNS; i++) {
-            for (int j = 0; j < board.ROWS; j++) {
-                if (board.getPiece(i, j) == null) {
-                    System.out.println("Available cell for transplant at: (" + i + ", " + j + ")");
-                }
-            }
-        }
-    }
-
-    private int getValueForPiece(String pieceName) {
-        switch(pieceName) {
-            case "Pawn":   return 1;
-            case "Rook":   return 5;
-            case "Knight": return 3;
-            case "Bishop": return 3;
-            case "Queen":  return 9;
-            case "King":   return 100;
-            default:       return 1;
-        }
-    }
-
     // --------------------------
     // Getters/Setters
     // --------------------------
@@ -660,46 +533,72 @@ public class Game {
     }
 
     public boolean isGameOver() {
-        return gameOver;
+        return state.getResult().isOver();
     }
 
+    public GameResult getResult() {
+        return state.getResult();
+    }
+
+    public boolean isWhiteToMove() {
+        return state.isWhiteToMove();
+    }
+
+    /**
+     * Number of pieces of the given {@code Piece.*_INDEX} type in a side's pocket.
+     */
+    public int pocketCount(boolean isWhite, int typeIndex) {
+        return state.pocketCount(isWhite, typeIndex);
+    }
+
+    /**
+     * Legal moves and drops of the side to move ({@link PackedMove}-encoded).
+     */
+    public int[] getLegalMoves() {
+        return legalMoves.clone();
+    }
+
+    /**
+     * A copy of the current position, e.g. for a search.
+     */
+    public Position getPosition() {
+        return state.getPosition();
+    }
+
+    /**
+     * The pieces of the current position, rebuilt after every move; changing it does not
+     * change the game.
+     */
     public Board getBoard() {
         return board;
     }
 
-    public void setActivePiece(Piece p) {
-        active = p;
+    public Piece getActivePiece() {
+        return active;
     }
 
-    public static boolean isAiIsWhite() {
-        return aiIsWhite;
+    public void setActivePiece(Piece p) {
+        active = p;
     }
 
-    public static void setAiIsWhite(boolean aiIsWhiteParam) {
-        aiIsWhite = aiIsWhiteParam;
+    public boolean isDragging() {
+        return drag;
     }
 
-    public void resetGame() {
-        AllPieces.clear();
-        wPieces.clear();
-        bPieces.clear();
-        board = new Board();
-        loadFenPosition("rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1");
-        gameOver = false;
+    public void setDragging(boolean dragging) {
+        drag = dragging;
     }
 
-    public ToolShed getWhiteToolShed() {
-        return whiteToolShed;
+    public boolean isAiIsWhite() {
+        return aiIsWhite;
     }
 
-    public ToolShed getBlackToolShed() {
-        return blackToolShed;
+    public void setAiIsWhite(boolean aiIsWhiteParam) {
+        aiIsWhite = aiIsWhiteParam;
     }
 
-    public void start() {
-        fillPieces();
-        generatePlayersTurnMoves(board);
-        generateEnemysMoves(board);
+    public void resetGame() {
+        loadPosition(Fen.START);
     }
 
     /**
@@ -708,4 +607,4 @@ public class Game {
     private int flipCoord(int coord, boolean isUserWhite) {
         return isUserWhite ? coord : 7 - coord;
     }
-}
\ No newline at end of file
+}
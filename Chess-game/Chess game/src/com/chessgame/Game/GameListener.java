@@ -0,0 +1,21 @@
+package com.chessgame.Game;
+
+/**
+ * Receives the events of a game ({@link GameState} or the Swing {@link Game}), so front ends
+ * such as the Swing frame or a server connection can follow a game without the game knowing
+ * about them. Listeners are called on the thread that made the move.
+ */
+public interface GameListener {
+
+    /**
+     * A move or drop has been played; {@code move} is {@link com.chessgame.Board.PackedMove}-encoded.
+     */
+    default void moveMade(int move) {
+    }
+
+    /**
+     * The side to move has no legal move left.
+     */
+    default void gameOver(GameResult result) {
+    }
+}
@@ -0,0 +1,38 @@
+package com.chessgame.Game;
+
+/**
+ * State of a game: still running, or how it ended.
+ */
+public enum GameResult {
+    ONGOING(""),
+    WHITE_WINS("Checkmate! White wins."),
+    BLACK_WINS("Checkmate! Black wins."),
+    STALEMATE("Stalemate.");
+
+    private final String message;
+
+    GameResult(String message) {
+        this.message = message;
+    }
+
+    public boolean isOver() {
+        return this != ONGOING;
+    }
+
+    /**
+     * Text shown to the players when the game ends.
+     */
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * Result when the side to move has no legal move.
+     */
+    static GameResult noLegalMoves(boolean whiteToMove, boolean inCheck) {
+        if (!inCheck) {
+            return STALEMATE;
+        }
+        return whiteToMove ? BLACK_WINS : WHITE_WINS;
+    }
+}
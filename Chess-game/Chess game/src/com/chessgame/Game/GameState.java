@@ -0,0 +1,248 @@
+package com.chessgame.Game;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import com.chessgame.Board.CompactPosition;
+import com.chessgame.Board.Fen;
+import com.chessgame.Board.MoveGenerator;
+import com.chessgame.Board.PackedMove;
+import com.chessgame.Board.Position;
+import com.chessgame.Pieces.Piece;
+
+/**
+ * One game of crazyhouse chess without any user interface: moves, drops, legal moves and the
+ * result, on a {@link Position}. All state belongs to the instance, so one JVM can run any
+ * number of games side by side; a GameState is small (a position and its move history).
+ *
+ * Front ends follow the game through {@link GameListener}s. A GameState is not thread-safe:
+ * each game must be used by one thread at a time (listeners may be added from any thread).
+ *
+ * Moves follow the {@link MoveGenerator} rules: captured pieces go to the capturer's
+ * pocket, pocket pieces can be dropped on any empty square (pawns on rows 1-6 only), and
+ * the game ends on checkmate or stalemate.
+ */
+public class GameState {
+    private final Position position;
+    private final List<GameListener> listeners = new CopyOnWriteArrayList<>();
+
+    private int[] history = new int[64];
+    private int historySize;
+
+    // Legal moves of the side to move, recomputed lazily after every change
+    private int[] legalMoves;
+    private GameResult result;
+
+    /**
+     * A game from the standard starting position.
+     */
+    public GameState() {
+        this(Fen.START);
+    }
+
+    /**
+     * A game from a FEN position, optionally with pockets (see {@link Fen}).
+     *
+     * @throws IllegalArgumentException if the FEN is invalid
+     */
+    public GameState(String fen) {
+        this.position = Fen.parse(fen);
+    }
+
+    public void addListener(GameListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(GameListener listener) {
+        listeners.remove(listener);
+    }
+
+    //---------------------------------------------------------------------------------
+    // Queries
+    //---------------------------------------------------------------------------------
+
+    public boolean isWhiteToMove() {
+        return position.isWhiteToMove();
+    }
+
+    /**
+     * Piece code ({@link Position}) on Board coordinates (x, y), or {@link Position#NO_PIECE}.
+     */
+    public int pieceAt(int x, int y) {
+        return position.pieceAt(Position.square(x, y));
+    }
+
+    /**
+     * Number of pieces of the given {@code Piece.*_INDEX} type in a side's pocket.
+     */
+    public int pocketCount(boolean isWhite, int typeIndex) {
+        return position.pocketCount(isWhite, typeIndex);
+    }
+
+    public boolean isInCheck() {
+        return position.isInCheck(position.isWhiteToMove());
+    }
+
+    /**
+     * Legal moves and drops of the side to move ({@link PackedMove}-encoded); empty once
+     * the game is over.
+     */
+    public int[] getLegalMoves() {
+        return legalMoves().clone();
+    }
+
+    /**
+     * True if {@code move} is legal; its piece fields, if any, are ignored.
+     */
+    public boolean isLegal(int move) {
+        return findLegal(move) != PackedMove.NONE;
+    }
+
+    // The generated legal move matching move, with its piece fields, or NONE
+    private int findLegal(int move) {
+        for (int legal : legalMoves()) {
+            if (PackedMove.sameMove(legal, move)) return legal;
+        }
+        return PackedMove.NONE;
+    }
+
+    public GameResult getResult() {
+        if (result == null) {
+            boolean canMove = legalMoves != null ? legalMoves.length > 0
+                    : MoveGenerator.hasLegalMove(position, position.isWhiteToMove());
+            result = canMove ? GameResult.ONGOING
+                    : GameResult.noLegalMoves(position.isWhiteToMove(), isInCheck());
+        }
+        return result;
+    }
+
+    /**
+     * Moves played so far, oldest first.
+     */
+    public int[] getHistory() {
+        return Arrays.copyOf(history, historySize);
+    }
+
+    /**
+     * A copy of the current position, e.g. for a search.
+     */
+    public Position getPosition() {
+        return position.copy();
+    }
+
+    /**
+     * An immutable compact snapshot of the current position, for keeping positions around.
+     */
+    public CompactPosition getSnapshot() {
+        return position.compact();
+    }
+
+    //---------------------------------------------------------------------------------
+    // Moves
+    //---------------------------------------------------------------------------------
+
+    /**
+     * Plays a legal {@link PackedMove} and notifies the listeners.
+     *
+     * @throws IllegalArgumentException if the move is not legal in the current position
+     */
+    public void play(int move) {
+        int legal = findLegal(move);
+        if (legal == PackedMove.NONE) {
+            throw new IllegalArgumentException("Illegal move: " + PackedMove.toAlgebraic(move));
+        }
+        move = legal;
+        position.makeMove(move);
+        if (historySize == history.length) {
+            history = Arrays.copyOf(history, historySize * 2);
+        }
+        history[historySize++] = move;
+        legalMoves = null;
+        result = null;
+
+        for (GameListener listener : listeners) {
+            listener.moveMade(move);
+        }
+        GameResult r = getResult();
+        if (r.isOver()) {
+            for (GameListener listener : listeners) {
+                listener.gameOver(r);
+            }
+        }
+    }
+
+    /**
+     * Plays a move in coordinate notation ({@link PackedMove#toAlgebraic}), e.g. "e2e4",
+     * "e7e8q" or "N@f3".
+     *
+     * @throws IllegalArgumentException if there is no such legal move
+     */
+    public void play(String move) {
+        for (int legal : legalMoves()) {
+            if (PackedMove.toAlgebraic(legal).equals(move)) {
+                play(legal);
+                return;
+            }
+        }
+        throw new IllegalArgumentException("Illegal move: " + move);
+    }
+
+    /**
+     * Moves the piece on (fromX, fromY) to (toX, toY); pawns reaching the last row become
+     * {@code promotionType} (a {@code Piece.*_INDEX}, ignored for other moves). Castling is
+     * given as the king's two-square move.
+     *
+     * @throws IllegalArgumentException if there is no such legal move
+     */
+    public void move(int fromX, int fromY, int toX, int toY, int promotionType) {
+        int from = Position.square(fromX, fromY);
+        int to = Position.square(toX, toY);
+        for (int move : legalMoves()) {
+            if (!PackedMove.isDrop(move) && PackedMove.from(move) == from && PackedMove.to(move) == to
+                    && (PackedMove.promotionType(move) == 0 || PackedMove.promotionType(move) == promotionType)) {
+                play(move);
+                return;
+            }
+        }
+        throw new IllegalArgumentException("Illegal move: (" + fromX + "," + fromY + ")->(" + toX + "," + toY + ")");
+    }
+
+    /**
+     * {@link #move(int, int, int, int, int)} promoting to a queen.
+     */
+    public void move(int fromX, int fromY, int toX, int toY) {
+        move(fromX, fromY, toX, toY, Piece.QUEEN_INDEX);
+    }
+
+    /**
+     * Drops a piece of the given type from the side to move's pocket on (x, y).
+     *
+     * @throws IllegalArgumentException if the drop is not legal
+     */
+    public void drop(int typeIndex, int x, int y) {
+        play(PackedMove.drop(typeIndex, Position.square(x, y)));
+    }
+
+    /**
+     * Takes back the last move, if any.
+     *
+     * @return false if no move has been played
+     */
+    public boolean undo() {
+        if (historySize == 0) {
+            return false;
+        }
+        position.unmakeMove(history[--historySize]);
+        legalMoves = null;
+        result = null;
+        return true;
+    }
+
+    private int[] legalMoves() {
+        if (legalMoves == null) {
+            legalMoves = MoveGenerator.generateLegal(position);
+        }
+        return legalMoves;
+    }
+}
@@ -1,6 +1,5 @@
 package com.chessgame.Game;
 
-import com.chessgame.Board.Board;
 import com.chessgame.Pieces.*;
 import javax.swing.*;
 import java.awt.*;
@@ -12,12 +11,16 @@ import java.util.List;
 
 /**
  * The ToolShed for a specific player (White/Black).
- * It allows storing the count of opponent's captured pieces and transplanting them onto the board.
+ * It shows the player's pocket of captured pieces, as kept by the game, and lets the player
+ * transplant them onto the board. It follows the game as a {@link GameListener} and
+ * refreshes its counts after every move.
  * Note: The King is intentionally omitted since it cannot be captured or transplanted.
  */
-public class ToolShed extends JPanel {
+public class ToolShed extends JPanel implements GameListener {
+    // Piece types a pocket can hold, in display order
+    private static final String[] PIECE_NAMES = { "Pawn", "Rook", "Knight", "Bishop", "Queen" };
+
     private String playerColor;                      // The player's color (White/Black)
-    private HashMap<String, Integer> pieceCountMap;  // Map that counts pieces by their name (String)
     private HashMap<String, JLabel> pieceLabelMap;   // Map of labels by piece name (String)
 
     // GUI components
@@ -30,7 +33,8 @@ public class ToolShed extends JPanel {
     private Game game;
 
     /**
-     * Constructs a ToolShed for a player with the given color in a specified game.
+     * Constructs a ToolShed for a player with the given color in a specified game, and adds
+     * it to the game's listeners.
      *
      * @param playerColor the player's color (e.g., "White" or "Black")
      * @param game        the current game instance
@@ -38,7 +42,6 @@ public class ToolShed extends JPanel {
     public ToolShed(String playerColor, Game game) {
         this.playerColor = playerColor;
         this.game = game;
-        this.pieceCountMap = new HashMap<>();
         this.pieceLabelMap = new HashMap<>();
 
         // Set the preferred size and appearance of the tool shed
@@ -52,10 +55,10 @@ public class ToolShed extends JPanel {
         }
         setBackground(Color.LIGHT_GRAY);
 
-        // Initialize the internal structure: piece counts and labels (excluding King)
-        initializeToolShed();
+        // Initialize the labels (excluding King) and the controls
         initializeLabels();
         initializeTransplantControls();
+        game.addGameListener(this);
     }
 
     /**
@@ -67,18 +70,6 @@ public class ToolShed extends JPanel {
         return playerColor;
     }
 
-    /**
-     * Initializes the piece count to 0 for each piece type, excluding King.
-     */
-    private void initializeToolShed() {
-        pieceCountMap.put("Pawn",   0);
-        pieceCountMap.put("Rook",   0);
-        pieceCountMap.put("Knight", 0);
-        pieceCountMap.put("Bishop", 0);
-        pieceCountMap.put("Queen",  0);
-        // Do not include King as it cannot be captured or transplanted.
-    }
-
     /**
      * Creates labels for each piece type (excluding King) and adds them to the panel.
      */
@@ -86,11 +77,9 @@ public class ToolShed extends JPanel {
         JPanel labelPanel = new JPanel();
         labelPanel.setLayout(new GridLayout(5, 1));
 
-        addLabelForPiece("Pawn",   labelPanel);
-        addLabelForPiece("Rook",   labelPanel);
-        addLabelForPiece("Knight", labelPanel);
-        addLabelForPiece("Bishop", labelPanel);
-        addLabelForPiece("Queen",  labelPanel);
+        for (String pieceName : PIECE_NAMES) {
+            addLabelForPiece(pieceName, labelPanel);
+        }
 
         add(labelPanel, BorderLayout.NORTH);
     }
@@ -104,7 +93,7 @@ public class ToolShed extends JPanel {
         // Three rows: piece selection, perform transplant, cancel transplant
 
         // ComboBox for selecting the type of piece to transplant (excluding King)
-        pieceSelector = new JComboBox<>(new String[]{"Pawn", "Rook", "Knight", "Bishop", "Queen"});
+        pieceSelector = new JComboBox<>(PIECE_NAMES);
         pieceSelector.addActionListener(new ActionListener() {
             @Override
             public void actionPerformed(ActionEvent e) {
@@ -130,8 +119,7 @@ public class ToolShed extends JPanel {
                 }
 
                 selectedPieceForTransplant = (String) pieceSelector.getSelectedItem();
-                if (selectedPieceForTransplant != null
-                        && pieceCountMap.getOrDefault(selectedPieceForTransplant, 0) > 0) {
+                if (selectedPieceForTransplant != null && getPieceCount(selectedPieceForTransplant) > 0) {
                     // At least one piece of this type is available in the tool shed
                     game.initiateTransplantMode(selectedPieceForTransplant);
                     System.out.println("Transplant mode initiated for: " + selectedPieceForTransplant);
@@ -160,41 +148,17 @@ public class ToolShed extends JPanel {
     }
 
     /**
-     * Adds a label for a specific piece type and initializes it to 0.
+     * Adds a label for a specific piece type showing its current count.
      *
      * @param pieceName  the name of the piece type
      * @param labelPanel the panel to which the label will be added
      */
     private void addLabelForPiece(String pieceName, JPanel labelPanel) {
-        JLabel label = new JLabel(pieceName + ": " + pieceCountMap.get(pieceName));
+        JLabel label = new JLabel(pieceName + ": " + getPieceCount(pieceName));
         pieceLabelMap.put(pieceName, label);
         labelPanel.add(label);
     }
 
-    /**
-     * Decreases the count of a specific piece type in the tool shed by 1 (for example, when a piece is transplanted).
-     *
-     * @param pieceName the name of the piece type to remove
-     */
-    public void removePieceFromShed(String pieceName) {
-        int currentCount = pieceCountMap.getOrDefault(pieceName, 0);
-        if (currentCount > 0) {
-            pieceCountMap.put(pieceName, currentCount - 1);
-            System.out.println("Removed one " + pieceName + ". New count: " + (currentCount - 1));
-
-            // Update the label
-            updateLabel(pieceName);
-        } else {
-            System.out.println("No pieces of type " + pieceName + " left to remove.");
-        }
-
-        // Refresh the panel so that the display is updated
-        SwingUtilities.invokeLater(() -> {
-            revalidate();
-            repaint();
-        });
-    }
-
     /**
      * Updates the label for a specific piece type in the tool shed.
      *
@@ -206,7 +170,7 @@ public class ToolShed extends JPanel {
         System.out.println("Label is: " + label);
 
         if (label != null) {
-            label.setText(pieceName + ": " + pieceCountMap.get(pieceName));
+            label.setText(pieceName + ": " + getPieceCount(pieceName));
             label.setForeground(Color.RED);
 
             SwingUtilities.invokeLater(() -> {
@@ -217,107 +181,66 @@ public class ToolShed extends JPanel {
     }
 
     /**
-     * Returns the count of pieces of a specific type stored in the tool shed.
+     * Refreshes the counts that changed with a move or drop: a capture fills a pocket, a
+     * transplant empties one.
      *
-     * @param pieceName the name of the piece type
-     * @return the number of pieces available
+     * @param move the move played
      */
-    public int getPieceCount(String pieceName) {
-        return pieceCountMap.getOrDefault(pieceName, 0);
+    @Override
+    public void moveMade(int move) {
+        for (String pieceName : PIECE_NAMES) {
+            JLabel label = pieceLabelMap.get(pieceName);
+            if (label != null && !label.getText().equals(pieceName + ": " + getPieceCount(pieceName))) {
+                updateLabel(pieceName);
+            }
+        }
+        SwingUtilities.invokeLater(() -> {
+            revalidate();
+            repaint();
+        });
     }
 
     /**
-     * Returns a list of available (non-zero count) piece types for transplantation.
+     * Maps a piece name to its piece-type index (see {@link Piece}), or -1 for an unknown name.
      *
-     * @return a list of piece type names that are available (excluding King)
+     * @param pieceName the name of the piece type
+     * @return the piece-type index
      */
-    public List<String> getAvailablePieceNames() {
-        List<String> available = new ArrayList<>();
-        for (String pieceName : pieceCountMap.keySet()) {
-            if (getPieceCount(pieceName) > 0) {
-                available.add(pieceName);
-            }
+    public static int getPieceTypeIndex(String pieceName) {
+        switch (pieceName) {
+            case "Pawn":   return Piece.PAWN_INDEX;
+            case "Knight": return Piece.KNIGHT_INDEX;
+            case "Bishop": return Piece.BISHOP_INDEX;
+            case "Rook":   return Piece.ROOK_INDEX;
+            case "Queen":  return Piece.QUEEN_INDEX;
+            default:       return -1;
         }
-        return available;
     }
 
     /**
-     * Creates an instance of a piece based on the received name (Pawn, Rook, etc.),
-     * with the specified position (x,y), the color according to the tool shed (White/Black),
-     * board, and value.
-     * Note: The King cannot be transplanted, so this method will not create one.
+     * Returns the count of pieces of a specific type stored in the tool shed.
      *
-     * @param pieceName the name of the piece to create
-     * @param x         the row coordinate
-     * @param y         the column coordinate
-     * @param board     the board on which the piece will be placed
-     * @param value     the value of the piece (though not used directly in this function)
-     * @return a new instance of the specified piece, or null if an invalid name is given or if it is King
+     * @param pieceName the name of the piece type
+     * @return the number of pieces available
      */
-    public Piece createPieceInstance(String pieceName, int x, int y, Board board, int value) {
-        // Do not allow creation of King via the tool shed.
-        if ("King".equals(pieceName)) {
-            System.out.println("Transplanting a King is not allowed.");
-            return null;
-        }
-        boolean isWhite = playerColor.equals("White");
-        switch (pieceName) {
-            case "Pawn":
-                return new Pawn(x, y, isWhite, board, isWhite ? 1 : -1);
-            case "Rook":
-                return new Rook(x, y, isWhite, board, isWhite ? 5 : -5);
-            case "Knight":
-                return new Knight(x, y, isWhite, board, isWhite ? 3 : -3);
-            case "Bishop":
-                return new Bishop(x, y, isWhite, board, isWhite ? 3 : -3);
-            case "Queen":
-                return new Queen(x, y, isWhite, board, isWhite ? 8 : -8);
-            default:
-                System.out.println("Invalid piece name selected: " + pieceName);
-                return null;
-        }
+    public int getPieceCount(String pieceName) {
+        int typeIndex = getPieceTypeIndex(pieceName);
+        return typeIndex < 0 ? 0 : game.pocketCount(playerColor.equals("White"), typeIndex);
     }
 
     /**
-     * Adds a captured piece to the player's tool shed (only if it belongs to the opponent).
-     * The King is not added because it cannot be captured.
+     * Returns a list of available (non-zero count) piece types for transplantation.
      *
-     * @param piece the captured piece
+     * @return a list of piece type names that are available (excluding King)
      */
-    public void addCapturedPiece(Piece piece) {
-        if (piece != null && !piece.alive()) {
-            // Do not add the King to the tool shed
-            if (piece.getClass().getSimpleName().equals("King")) {
-                System.out.println("King cannot be captured or transplanted. Ignored.");
-                return;
-            }
-            // Check if the captured piece belongs to the opponent based on its color
-            boolean isOpponentColor = (playerColor.equals("White") && !piece.isWhite())
-                                   || (playerColor.equals("Black") &&  piece.isWhite());
-
-            if (isOpponentColor) {
-                String pieceName = piece.getClass().getSimpleName();
-                int currentCount = pieceCountMap.getOrDefault(pieceName, 0);
-
-                // Increase the count in the tool shed
-                pieceCountMap.put(pieceName, currentCount + 1);
-                System.out.println("Captured " + pieceName + ". New count: " + (currentCount + 1));
-
-                // Update the label
-                updateLabel(pieceName);
-
-                // Refresh the panel
-                SwingUtilities.invokeLater(() -> {
-                    revalidate();
-                    repaint();
-                });
-            } else {
-                System.out.println("Piece " + piece.getClass().getSimpleName() 
-                                   + " does not belong to the opponent. Ignored.");
+    public List<String> getAvailablePieceNames() {
+        List<String> available = new ArrayList<>();
+        for (String pieceName : PIECE_NAMES) {
+            if (getPieceCount(pieceName) > 0) {
+                available.add(pieceName);
             }
-        } else {
-            System.out.println("Invalid piece or piece is still alive.");
         }
+        return available;
     }
 
     /**
@@ -347,30 +270,13 @@ public class ToolShed extends JPanel {
         g.drawString(playerColor + " Tool Shed", x, y - 30);
 
         // Draw the pieces along with their counts
-        for (String pieceName : pieceCountMap.keySet()) {
-            int count = pieceCountMap.get(pieceName);
+        for (String pieceName : PIECE_NAMES) {
+            int count = getPieceCount(pieceName);
 
             if (count > 0) {
-                ImageIcon pieceImage = null;
                 boolean isWhite = playerColor.equals("White");
-
-                switch (pieceName) {
-                    case "Pawn":
-                        pieceImage = isWhite ? PieceImages.wp : PieceImages.bp;
-                        break;
-                    case "Rook":
-                        pieceImage = isWhite ? PieceImages.wr : PieceImages.br;
-                        break;
-                    case "Knight":
-                        pieceImage = isWhite ? PieceImages.wn : PieceImages.bn;
-                        break;
-                    case "Bishop":
-                        pieceImage = isWhite ? PieceImages.wb : PieceImages.bb;
-                        break;
-                    case "Queen":
-                        pieceImage = isWhite ? PieceImages.wq : PieceImages.bq;
-                        break;
-                }
+                int type = getPieceTypeIndex(pieceName);
+                ImageIcon pieceImage = type < 0 ? null : PieceImages.sprite(type, isWhite);
 
                 if (pieceImage != null) {
                     // Draw the piece icon
@@ -4,7 +4,7 @@ import com.chessgame.Board.Board;
 
 public class Bishop extends Piece {
 
-    private static final int[][] BISHOP_PST = {
+    static final int[][] BISHOP_PST = {
         { -2, -1, -1, -1, -1, -1, -1, -2 },
         { -1,  0,  0,  0,  0,  0,  0, -1 },
         { -1,  0,  1,  1,  1,  1,  0, -1 },
@@ -17,17 +17,6 @@ public class Bishop extends Piece {
 
     public Bishop(int x, int y, boolean iswhite, Board board, int value) {
         super(x, y, iswhite, board, value);
-        this.pieceImage = PieceImages.BISHOP;
-    }
-
-    @Override
-    public void intializeSide(int value) {
-        super.intializeSide(value);
-        if (isWhite()) {
-            image = PieceImages.wb;
-        } else {
-            image = PieceImages.bb;
-        }
     }
 
     @Override
@@ -36,17 +25,6 @@ public class Bishop extends Piece {
         return BISHOP_PST[realRow][col];
     }
 
-    @Override
-    public boolean canMove(int x, int y, Board board) {
-        if (board.getPiece(x, y) != null && board.getPiece(x, y).isWhite() == isWhite()) {
-            return false;
-        }
-        if (Math.abs(x - xCord) == Math.abs(y - yCord)) {
-            return bishopMoves(x, y, board);
-        }
-        return false;
-    }
-
     public boolean bishopMoves(int x, int y, Board board) {
         if (x > xCord && y > yCord) {
             int j = yCord + 1;
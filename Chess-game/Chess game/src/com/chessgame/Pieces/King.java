@@ -2,13 +2,13 @@ package com.chessgame.Pieces;
 
 import com.chessgame.Board.Board;
 import com.chessgame.Board.Move;
-import com.chessgame.Game.Game;
+import com.chessgame.Board.Position;
 
 public class King extends Piece {
     private boolean hasMoved;
     private Rook rook = null;
 
-    private static final int[][] KING_PST = {
+    static final int[][] KING_PST = {
         { -3, -4, -4, -5, -5, -4, -4, -3 },
         { -3, -4, -4, -5, -5, -4, -4, -3 },
         { -3, -4, -4, -5, -5, -4, -4, -3 },
@@ -22,17 +22,6 @@ public class King extends Piece {
     public King(int x, int y, boolean iswhite, Board board, int value) {
         super(x, y, iswhite, board, value);
         hasMoved = false;
-        this.pieceImage = PieceImages.KING;
-    }
-
-    @Override
-    public void intializeSide(int value) {
-        super.intializeSide(value);
-        if (isWhite()) {
-            image = PieceImages.wk;
-        } else {
-            image = PieceImages.bk;
-        }
     }
 
     @Override
@@ -65,58 +54,6 @@ public class King extends Piece {
         return false;
     }
 
-    @Override
-    public boolean canMove(int x, int y, Board board) {
-        int i = Math.abs(xCord - x);
-        int j = Math.abs(yCord - y);
-
-        // king's usual move: 1 step in any direction
-        if ((j == 1 && i == 1) || (i + j) == 1) {
-            if (board.getPiece(x, y) == null) {
-                return true;
-            } else {
-                return board.getPiece(x, y).isWhite() != isWhite();
-            }
-        }
-
-        // castling logic
-        getRook(x, board);
-        if (rook != null && (rook.HasMoved() || this.hasMoved)) {
-            return false;
-        } else if (rook != null) {
-            // check squares in between
-            if (x > xCord) {
-                // short castling
-                for (int k = xCord + 1; k < rook.getXcord(); k++) {
-                    if (board.getPiece(k, yCord) != null) return false;
-                    // check if squares are attacked
-                    for (Move m: Game.allEnemysMove) {
-                        if ((m.getToX() == k || m.getToX() == xCord) && m.getToY() == yCord) {
-                            return false;
-                        }
-                    }
-                }
-                if (x == rook.getXcord() - 1 && y == yCord) {
-                    return true;
-                }
-            } else {
-                // long castling
-                for (int k = xCord - 1; k > rook.getXcord(); k--) {
-                    if (board.getPiece(k, yCord) != null) return false;
-                    for (Move m: Game.allEnemysMove) {
-                        if ((m.getToX() == k || m.getToX() == xCord) && m.getToY() == yCord) {
-                            return false;
-                        }
-                    }
-                }
-                if (x == rook.getXcord() + 2 && y == yCord) {
-                    return true;
-                }
-            }
-        }
-        return false;
-    }
-
     private void getRook(int x, Board board) {
         rook = null;
         if (isWhite()) {
@@ -142,16 +79,36 @@ public class King extends Piece {
         }
     }
 
+    public boolean hasMoved() {
+        return hasMoved;
+    }
+
+    public void setHasMoved(boolean hasMoved) {
+        this.hasMoved = hasMoved;
+    }
+
+    @Override
+    public int getMoveState() {
+        return hasMoved ? 1 : 0;
+    }
+
+    @Override
+    public void setMoveState(int state) {
+        hasMoved = (state & 1) != 0;
+    }
+
+    @Override
+    public void updateMoveState(int fromX, int fromY, int toX, int toY) {
+        hasMoved = true;
+    }
+
     /**
-     * Check if this king is in check by any of the opponent's pseudo-legal moves
+     * Check if this king is in check on the given board, probing outward from its square
+     * for enemy pawns, knights, the enemy king and sliders on its lines (a few table
+     * lookups, no move generation).
      */
-    public boolean isInCheck() {
-        for (Move m: Game.allEnemysMove) {
-            if (m.getToX() == xCord && m.getToY() == yCord) {
-                return true;
-            }
-        }
-        return false;
+    public boolean isInCheck(Board board) {
+        return board.getPosition().isSquareAttacked(getSquare(), !isWhite());
     }
 
     /**
@@ -4,6 +4,7 @@ import java.awt.Color;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import javax.swing.ImageIcon;
@@ -11,7 +12,8 @@ import javax.swing.JPanel;
 
 import com.chessgame.Board.Board;
 import com.chessgame.Board.Move;
-import com.chessgame.Game.Game;
+import com.chessgame.Board.MoveGenerator;
+import com.chessgame.Board.Position;
 
 public abstract class Piece implements Cloneable {
     //------------------------------------------------------------------------
@@ -40,11 +42,9 @@ public abstract class Piece implements Cloneable {
     protected boolean isAlive;
     protected int valueInTheBoard;
     protected Board board;
-    protected String pieceImage;
-    protected Color pieceColor;
     public static int size = 80;
-    protected List<Move> moves = new ArrayList<>();
-    protected ImageIcon image;
+    // Until moves are first generated every piece shares the empty list
+    protected List<Move> moves = Collections.emptyList();
 
     // Constructor
     public Piece(int x, int y, boolean isWhite, Board board, int value) {
@@ -58,17 +58,20 @@ public abstract class Piece implements Cloneable {
     }
     
     /**
-     * A method that each derived piece will override to initialize side, color, and image.
+     * Sets the piece's signed board value. Sprites and colors are not per piece: drawing
+     * looks them up in {@link PieceImages} by the piece's code.
      */
     public void intializeSide(int value) {
-        if (isWhite) {
-            pieceColor = PieceImages.WHITECOLOR;
-        } else {
-            pieceColor = PieceImages.BLACKCOLOR;
-        }
         valueInTheBoard = value;
     }
 
+    /**
+     * The shared sprite of this piece's type and color.
+     */
+    public ImageIcon getImage() {
+        return PieceImages.sprite(Position.codeOf(this));
+    }
+
     /**
      * The default PST-based position bonus method.
      * By default returns 0 – each piece class will override if it has a PST.
@@ -77,8 +80,10 @@ public abstract class Piece implements Cloneable {
         return 0; // By default, no PST bonus
     }
 
-    // Abstract or default check if a piece can move to (x,y)
-    public abstract boolean canMove(int x, int y, Board board);
+    // Check if the piece can pseudo-legally move to (x,y)
+    public boolean canMove(int x, int y, Board board) {
+        return (getPseudoLegalTargets(board) & Position.bit(Position.square(x, y))) != 0;
+    }
 
     // Make a move if it is in the piece's move list
     public boolean makeMove(int toX, int toY, Board board) {
@@ -116,11 +121,28 @@ public abstract class Piece implements Cloneable {
         Piece currentPiece = board.getPiece(xCord, yCord);
         if (currentPiece == null || currentPiece.getValueInTheboard() != valueInTheBoard) {
             isAlive = false;
-            Game.AllPieces.remove(this);
         }
         return isAlive;
     }
 
+    /**
+     * Packs the move-dependent flags of this piece (castling rights, en passant state)
+     * into an int, so reversible board moves can restore them. Stateless pieces return 0.
+     */
+    public int getMoveState() {
+        return 0;
+    }
+
+    public void setMoveState(int state) {
+    }
+
+    /**
+     * Updates the move-dependent flags exactly as makeMove does, without touching game state.
+     * Used by Board.makeMove.
+     */
+    public void updateMoveState(int fromX, int fromY, int toX, int toY) {
+    }
+
     public void setAlive(boolean isAlive) {
         this.isAlive = isAlive;
     }
@@ -130,8 +152,8 @@ public abstract class Piece implements Cloneable {
         this.isWhite = !this.isWhite;
     }
 
-    // Show moves graphically
-    public void showMoves(Graphics2D g2, JPanel panel, boolean isUserWhite) {
+    // Show moves graphically; the piece's own square is filled while it is dragged
+    public void showMoves(Graphics2D g2, JPanel panel, boolean isUserWhite, boolean drag) {
         for (Move m : moves) {
             int fromX = m.getFromX();
             int fromY = m.getFromY();
@@ -160,7 +182,7 @@ public abstract class Piece implements Cloneable {
             }
 
             // The piece's current square
-            if (Game.drag) {
+            if (drag) {
                 g2.setColor(Color.DARK_GRAY);
                 g2.fillRect(drawXFrom * size, drawYFrom * size, size, size);
             } else {
@@ -175,27 +197,42 @@ public abstract class Piece implements Cloneable {
 
     // Draw piece
     public void draw(Graphics g, boolean drag, JPanel panel) {
-        g.drawImage(image.getImage(), xCord * size, yCord * size, size, size, panel);
+        g.drawImage(getImage().getImage(), xCord * size, yCord * size, size, size, panel);
         panel.revalidate();
         panel.repaint();
     }
 
     // Draw piece while dragging
     public void drawDrag(Graphics g, boolean player, int x, int y, JPanel panel) {
-        g.drawImage(image.getImage(), x - size / 2, y - size / 2, size, size, panel);
+        g.drawImage(getImage().getImage(), x - size / 2, y - size / 2, size, size, panel);
         panel.revalidate();
         panel.repaint();
     }
 
+    /**
+     * Returns the squares this piece can pseudo-legally move to as a bitboard
+     * (see {@link Position} for the square numbering). The rules are those of
+     * {@link MoveGenerator#pieceTargets}, with castling rights read off the board.
+     */
+    public long getPseudoLegalTargets(Board b) {
+        int type = getPieceTypeIndex();
+        int rights = type == KING_INDEX ? b.getCastlingRights() : 0;
+        return MoveGenerator.pieceTargets(b.getPosition(), type, isWhite, getSquare(), rights);
+    }
+
+    // Square index of this piece in the Position numbering
+    protected int getSquare() {
+        return Position.square(xCord, yCord);
+    }
+
     // Fill all pseudo-legal moves (no check for king safety, etc.)
     public void fillAllPseudoLegalMoves(Board b) {
-        moves = new ArrayList<>();
-        for (int i = 0; i < 8; i++) {
-            for (int j = 0; j < 8; j++) {
-                if (canMove(i, j, b)) {
-                    moves.add(new Move(xCord, yCord, i, j, this));
-                }
-            }
+        long targets = getPseudoLegalTargets(b);
+        moves = new ArrayList<>(Long.bitCount(targets));
+        while (targets != 0) {
+            int sq = Long.numberOfTrailingZeros(targets);
+            targets &= targets - 1;
+            moves.add(new Move(xCord, yCord, Position.fileOf(sq), Position.rowOf(sq), this));
         }
     }
 
@@ -222,7 +259,7 @@ public abstract class Piece implements Cloneable {
     public Piece clone() {
         try {
             Piece clonedPiece = (Piece) super.clone();
-            clonedPiece.moves = new ArrayList<>(this.moves);
+            clonedPiece.moves = moves.isEmpty() ? Collections.<Move>emptyList() : new ArrayList<>(moves);
             return clonedPiece;
         } catch (CloneNotSupportedException e) {
             throw new AssertionError("Clone not supported", e);
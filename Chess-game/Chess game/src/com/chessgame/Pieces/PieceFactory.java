@@ -20,4 +20,21 @@ public class PieceFactory {
         }
         return null;
     }
+
+    /**
+     * Position bonus of a piece type on a square without creating a piece; same table and
+     * orientation as that piece's getPositionBonus(row, col).
+     */
+    public static int getPositionBonus(int typeIndex, boolean isWhite, int row, int col) {
+        int realRow = isWhite ? row : (7 - row);
+        switch (typeIndex) {
+            case Piece.PAWN_INDEX:   return Pawn.PAWN_PST[realRow][col];
+            case Piece.KNIGHT_INDEX: return Knight.KNIGHT_PST[realRow][col];
+            case Piece.BISHOP_INDEX: return Bishop.BISHOP_PST[realRow][col];
+            case Piece.ROOK_INDEX:   return Rook.ROOK_PST[realRow][col];
+            case Piece.QUEEN_INDEX:  return Queen.QUEEN_PST[realRow][col];
+            case Piece.KING_INDEX:   return King.KING_PST[realRow][col];
+            default:                 return 0;
+        }
+    }
 }
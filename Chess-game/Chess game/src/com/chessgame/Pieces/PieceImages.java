@@ -3,6 +3,12 @@ package com.chessgame.Pieces;
 import java.awt.Color;
 import javax.swing.ImageIcon;
 
+import com.chessgame.Board.Position;
+
+/**
+ * Sprites and colors shared by all pieces. Pieces keep no drawing data of their own; the
+ * sprite of a piece is looked up by its {@link Position} piece code.
+ */
 public class PieceImages {
     public static Color WHITECOLOR = Color.WHITE; // Make colors public
     public static Color BLACKCOLOR = Color.BLACK;
@@ -26,18 +32,39 @@ public class PieceImages {
     public static ImageIcon wp;
     public static ImageIcon bp;
 
+    // Sprites by piece code
+    private static final ImageIcon[] SPRITES = new ImageIcon[Position.PIECE_CODES];
+
     public PieceImages() {
-        wk = new ImageIcon(getClass().getResource("../Resources/images/wk.png"));
-        bk = new ImageIcon(getClass().getResource("../Resources/images/bk.png"));
-        wr = new ImageIcon(getClass().getResource("../Resources/images/wr.png"));
-        br = new ImageIcon(getClass().getResource("../Resources/images/br.png"));
-        wq = new ImageIcon(getClass().getResource("../Resources/images/wq.png"));
-        bq = new ImageIcon(getClass().getResource("../Resources/images/bq.png"));
-        wb = new ImageIcon(getClass().getResource("../Resources/images/wb.png"));
-        bb = new ImageIcon(getClass().getResource("../Resources/images/bb.png"));
-        wn = new ImageIcon(getClass().getResource("../Resources/images/wn.png"));
-        bn = new ImageIcon(getClass().getResource("../Resources/images/bn.png"));
-        wp = new ImageIcon(getClass().getResource("../Resources/images/wp.png"));
-        bp = new ImageIcon(getClass().getResource("../Resources/images/bp.png"));
+        wk = new ImageIcon(getClass().getResource("/com/chessgame/Resources/images/wk.png"));
+        bk = new ImageIcon(getClass().getResource("/com/chessgame/Resources/images/bk.png"));
+        wr = new ImageIcon(getClass().getResource("/com/chessgame/Resources/images/wr.png"));
+        br = new ImageIcon(getClass().getResource("/com/chessgame/Resources/images/br.png"));
+        wq = new ImageIcon(getClass().getResource("/com/chessgame/Resources/images/wq.png"));
+        bq = new ImageIcon(getClass().getResource("/com/chessgame/Resources/images/bq.png"));
+        wb = new ImageIcon(getClass().getResource("/com/chessgame/Resources/images/wb.png"));
+        bb = new ImageIcon(getClass().getResource("/com/chessgame/Resources/images/bb.png"));
+        wn = new ImageIcon(getClass().getResource("/com/chessgame/Resources/images/wn.png"));
+        bn = new ImageIcon(getClass().getResource("/com/chessgame/Resources/images/bn.png"));
+        wp = new ImageIcon(getClass().getResource("/com/chessgame/Resources/images/wp.png"));
+        bp = new ImageIcon(getClass().getResource("/com/chessgame/Resources/images/bp.png"));
+        ImageIcon[] white = { wp, wn, wb, wr, wq, wk };
+        ImageIcon[] black = { bp, bn, bb, br, bq, bk };
+        for (int type = 0; type < Position.PIECE_TYPES; type++) {
+            SPRITES[Position.code(type, true)] = white[type];
+            SPRITES[Position.code(type, false)] = black[type];
+        }
+    }
+
+    public static ImageIcon sprite(int code) {
+        return SPRITES[code];
+    }
+
+    public static ImageIcon sprite(int typeIndex, boolean isWhite) {
+        return SPRITES[Position.code(typeIndex, isWhite)];
+    }
+
+    public static Color color(boolean isWhite) {
+        return isWhite ? WHITECOLOR : BLACKCOLOR;
     }
 }
@@ -4,7 +4,7 @@ import com.chessgame.Board.Board;
 
 public class Queen extends Piece {
 
-    private static final int[][] QUEEN_PST = {
+    static final int[][] QUEEN_PST = {
         { -2, -1, -1,  0,  0, -1, -1, -2 },
         { -1,  0,  0,  0,  0,  0,  0, -1 },
         { -1,  0,  1,  1,  1,  1,  0, -1 },
@@ -17,17 +17,6 @@ public class Queen extends Piece {
 
     public Queen(int x, int y, boolean iswhite, Board board, int value) {
         super(x, y, iswhite, board, value);
-        this.pieceImage = PieceImages.QUEEN;
-    }
-
-    @Override
-    public void intializeSide(int value) {
-        super.intializeSide(value);
-        if (isWhite()) {
-            image = PieceImages.wq;
-        } else {
-            image = PieceImages.bq;
-        }
     }
 
     @Override
@@ -36,23 +25,6 @@ public class Queen extends Piece {
         return QUEEN_PST[realRow][col];
     }
 
-    @Override
-    public boolean canMove(int x, int y, Board board) {
-        // cannot capture same color
-        if (board.getPiece(x, y) != null && board.getPiece(x, y).isWhite() == isWhite()) {
-            return false;
-        }
-        // Diagonal
-        if (Math.abs(x - xCord) == Math.abs(y - yCord)) {
-            return queenMovesDiagonal(x, y, board);
-        }
-        // Straight
-        if (x == xCord || y == yCord) {
-            return queenMovesStraight(x, y, board);
-        }
-        return false;
-    }
-
     /**
      * נחזיר את המתודה הישנה במלואה:
      */
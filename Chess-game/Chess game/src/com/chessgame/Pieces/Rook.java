@@ -4,7 +4,7 @@ import com.chessgame.Board.Board;
 
 public class Rook extends Piece {
 
-    private static final int[][] ROOK_PST = {
+    static final int[][] ROOK_PST = {
         {  0,  0,  0,  0,  0,  0,  0,  0 },
         {  0,  0,  0,  0,  0,  0,  0,  0 },
         {  0,  0,  0,  0,  0,  0,  0,  0 },
@@ -21,17 +21,6 @@ public class Rook extends Piece {
     public Rook(int x, int y, boolean iswhite, Board board, int value) {
         super(x, y, iswhite, board, value);
         hasMoved = false;
-        this.pieceImage = PieceImages.ROOK;
-    }
-
-    @Override
-    public void intializeSide(int value) {
-        super.intializeSide(value);
-        if (isWhite()) {
-            image = PieceImages.wr;
-        } else {
-            image = PieceImages.br;
-        }
     }
 
     @Override
@@ -54,34 +43,6 @@ public class Rook extends Piece {
         return false;
     }
 
-    @Override
-    public boolean canMove(int x, int y, Board board) {
-        if (board.getPiece(x, y) != null && board.getPiece(x, y).isWhite() == isWhite()) {
-            return false;
-        }
-
-        // Move vertically
-        if (x == xCord) {
-            int start = Math.min(yCord, y) + 1;
-            int end   = Math.max(yCord, y);
-            for (int i = start; i < end; i++) {
-                if (board.getPiece(x, i) != null) return false;
-            }
-            return true;
-        }
-        // Move horizontally
-        if (y == yCord) {
-            int start = Math.min(xCord, x) + 1;
-            int end   = Math.max(xCord, x);
-            for (int i = start; i < end; i++) {
-                if (board.getPiece(i, y) != null) return false;
-            }
-            return true;
-        }
-
-        return false;
-    }
-
     public void castleDone(int x, Board board) {
         if (x == 6) {
             board.updatePieces(xCord, yCord, x - 1, yCord, this);
@@ -109,6 +70,23 @@ public class Rook extends Piece {
         this.justMoved = justMoved;
     }
 
+    @Override
+    public int getMoveState() {
+        return (hasMoved ? 1 : 0) | (justMoved ? 2 : 0);
+    }
+
+    @Override
+    public void setMoveState(int state) {
+        hasMoved = (state & 1) != 0;
+        justMoved = (state & 2) != 0;
+    }
+
+    @Override
+    public void updateMoveState(int fromX, int fromY, int toX, int toY) {
+        justMoved = !hasMoved;
+        hasMoved = true;
+    }
+
     /**
      * Polymorphic piece-type index for array-based counters.
      */
@@ -0,0 +1,94 @@
+package com.chessgame.Server;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import com.chessgame.Ai.Search;
+import com.chessgame.Ai.SearchResult;
+import com.chessgame.Ai.TranspositionTable;
+import com.chessgame.Board.Position;
+
+/**
+ * Runs engine searches for all sessions on a fixed number of CPU threads. Requests queue up
+ * when all threads are busy, so any number of sessions share a bounded amount of CPU; idle
+ * sessions cost no engine resources at all.
+ *
+ * All searches share one {@link TranspositionTable}. Entries are keyed by position, so games
+ * that reach the same position reuse each other's work.
+ *
+ * Each engine thread keeps one {@link Search} and reuses it for every request it runs,
+ * giving it the new root with {@link Search#setPosition}, so its search state is allocated
+ * once per thread, not once per engine move.
+ */
+public class EngineService {
+    private final ThreadPoolExecutor pool;
+    private final TranspositionTable table;
+    private final LatencyRecorder searchLatency = new LatencyRecorder(4096);
+    // The search of each engine thread, created on the thread's first request
+    private final ThreadLocal<Search> searches;
+
+    /**
+     * @param threads number of searches that may run at once (at least 1)
+     * @param tableSizeMb size of the shared transposition table
+     */
+    public EngineService(int threads, int tableSizeMb) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Thread count must be at least 1: " + threads);
+        }
+        this.table = new TranspositionTable(tableSizeMb);
+        this.searches = ThreadLocal.withInitial(() -> new Search(new Position(), table));
+        this.pool = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    Thread t = new Thread(runnable, "engine");
+                    t.setDaemon(true);
+                    return t;
+                });
+    }
+
+    /**
+     * Queues a search of {@code position} over its legal {@code rootMoves}.
+     *
+     * @param position   position to search (owned by the search from now on)
+     * @param rootMoves  legal moves of the side to move (at least one)
+     * @param timeMillis search time once the search has started
+     */
+    public Future<SearchResult> submit(Position position, int[] rootMoves, long timeMillis) {
+        long queued = System.nanoTime();
+        Callable<SearchResult> task = () -> {
+            Search search = searches.get();
+            search.setPosition(position);
+            SearchResult result = search.search(rootMoves, timeMillis, 0, Search.MAX_PLY);
+            searchLatency.record(System.nanoTime() - queued);
+            return result;
+        };
+        return pool.submit(task);
+    }
+
+    /**
+     * Searches waiting for a thread.
+     */
+    public int getQueueDepth() {
+        return pool.getQueue().size();
+    }
+
+    /**
+     * Searches running right now.
+     */
+    public int getActiveSearches() {
+        return pool.getActiveCount();
+    }
+
+    /**
+     * Time from submitting a search to its result, queueing included.
+     */
+    public LatencyRecorder getSearchLatency() {
+        return searchLatency;
+    }
+
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+}
@@ -0,0 +1,144 @@
+package com.chessgame.Server;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.chessgame.Ai.TranspositionTable;
+import com.chessgame.Game.GameState;
+
+/**
+ * Hosts many games in one JVM behind a TCP socket, one {@link GameSession} per connection
+ * (see there for the protocol). Sessions run on virtual threads when the JVM has them
+ * (Java 21+) and on a cached thread pool otherwise; engine searches run on the bounded
+ * {@link EngineService}.
+ *
+ * <pre>
+ * java -cp chess-game.jar com.chessgame.Server.GameServer [port] [engineThreads] [engineMillis]
+ * </pre>
+ */
+public class GameServer {
+    public static final int DEFAULT_PORT = 7878;
+    public static final long DEFAULT_ENGINE_MILLIS = 500;
+
+    private final int port;
+    private final long engineTimeMillis;
+    private final EngineService engine;
+    private final ExecutorService sessions = newSessionExecutor();
+
+    private final AtomicInteger activeSessions = new AtomicInteger();
+    private final AtomicLong totalSessions = new AtomicLong();
+    private final LatencyRecorder moveLatency = new LatencyRecorder(4096);
+
+    private volatile ServerSocket serverSocket;
+
+    public GameServer(int port, int engineThreads, long engineTimeMillis) {
+        this.port = port;
+        this.engineTimeMillis = engineTimeMillis;
+        this.engine = new EngineService(engineThreads, TranspositionTable.DEFAULT_SIZE_MB);
+    }
+
+    /**
+     * Accepts connections until {@link #stop()} is called or the socket fails.
+     */
+    public void run() throws IOException {
+        // Build the attack tables (about a second) before the first client is waiting on them
+        new GameState().getLegalMoves();
+        try (ServerSocket server = new ServerSocket(port)) {
+            serverSocket = server;
+            System.out.println("Game server listening on port " + server.getLocalPort());
+            while (!server.isClosed()) {
+                Socket socket;
+                try {
+                    socket = server.accept();
+                } catch (IOException e) {
+                    if (server.isClosed()) break;
+                    throw e;
+                }
+                socket.setTcpNoDelay(true);
+                sessions.execute(new GameSession(socket, this));
+            }
+        } finally {
+            sessions.shutdownNow();
+            engine.shutdown();
+        }
+    }
+
+    public void stop() throws IOException {
+        ServerSocket server = serverSocket;
+        if (server != null) {
+            server.close();
+        }
+    }
+
+    void sessionStarted() {
+        activeSessions.incrementAndGet();
+        totalSessions.incrementAndGet();
+    }
+
+    void sessionEnded() {
+        activeSessions.decrementAndGet();
+    }
+
+    EngineService getEngine() {
+        return engine;
+    }
+
+    long getEngineTimeMillis() {
+        return engineTimeMillis;
+    }
+
+    /**
+     * Time to handle a "move" command, including the engine's answer when it plays.
+     */
+    public LatencyRecorder getMoveLatency() {
+        return moveLatency;
+    }
+
+    /**
+     * One-line summary: sessions, move and engine latency percentiles (microseconds) and
+     * engine queue depth.
+     */
+    public String getStats() {
+        LatencyRecorder search = engine.getSearchLatency();
+        return "sessions=" + activeSessions.get() +
+                " total_sessions=" + totalSessions.get() +
+                " moves=" + moveLatency.getCount() +
+                " move_p50_us=" + moveLatency.percentileMicros(50) +
+                " move_p90_us=" + moveLatency.percentileMicros(90) +
+                " move_p99_us=" + moveLatency.percentileMicros(99) +
+                " engine_p50_us=" + search.percentileMicros(50) +
+                " engine_p99_us=" + search.percentileMicros(99) +
+                " engine_active=" + engine.getActiveSearches() +
+                " engine_queue=" + engine.getQueueDepth();
+    }
+
+    /**
+     * Virtual thread per session on Java 21+, found by reflection so the game still builds
+     * and runs on Java 8.
+     */
+    private static ExecutorService newSessionExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool(runnable -> {
+                Thread t = new Thread(runnable, "session");
+                t.setDaemon(true);
+                return t;
+            });
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        long millis = args.length > 2 ? Long.parseLong(args[2]) : DEFAULT_ENGINE_MILLIS;
+        new GameServer(port, threads, millis).run();
+    }
+}
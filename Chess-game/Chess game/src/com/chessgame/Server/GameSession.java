@@ -0,0 +1,171 @@
+package com.chessgame.Server;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import com.chessgame.Ai.SearchResult;
+import com.chessgame.Board.PackedMove;
+import com.chessgame.Game.GameListener;
+import com.chessgame.Game.GameResult;
+import com.chessgame.Game.GameState;
+
+/**
+ * One client connection playing one game at a time, driven by a line protocol:
+ * <pre>
+ * new [white|black|none] [FEN]   start a game; the engine plays the given side (default none)
+ * move e2e4 | move N@f3          play a move or drop; the engine answers if it is its turn
+ * go                             let the engine play the side to move
+ * moves                          list the legal moves
+ * result                         ongoing, white_wins, black_wins or stalemate
+ * stats                          server statistics
+ * quit
+ * </pre>
+ * Every command is answered with one line starting with "ok" or "error"; moves played by
+ * either side are also sent as "played MOVE" and the end of the game as "gameover RESULT".
+ *
+ * The session blocks its thread while waiting for input or for the engine, which is cheap
+ * when sessions run on virtual threads.
+ */
+public class GameSession implements Runnable {
+    private final Socket socket;
+    private final GameServer server;
+
+    private PrintWriter out;
+    private GameState game;
+    // Side the engine plays: Boolean.TRUE = White, FALSE = Black, null = none
+    private Boolean engineSide;
+
+    public GameSession(Socket socket, GameServer server) {
+        this.socket = socket;
+        this.server = server;
+    }
+
+    @Override
+    public void run() {
+        server.sessionStarted();
+        try (Socket s = socket;
+             BufferedReader in = new BufferedReader(new InputStreamReader(s.getInputStream(), StandardCharsets.UTF_8))) {
+            out = new PrintWriter(new OutputStreamWriter(s.getOutputStream(), StandardCharsets.UTF_8), true);
+            String line;
+            while ((line = in.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty()) continue;
+                if (line.equals("quit")) {
+                    out.println("ok bye");
+                    break;
+                }
+                handle(line);
+            }
+        } catch (IOException e) {
+            System.out.println("DEBUG: Session closed: " + e.getMessage());
+        } finally {
+            server.sessionEnded();
+        }
+    }
+
+    private void handle(String line) {
+        String[] parts = line.split("\\s+", 2);
+        String args = parts.length > 1 ? parts[1] : "";
+        try {
+            switch (parts[0]) {
+                case "new":    newGame(args); break;
+                case "move":   move(args); break;
+                case "go":     requireGame(); engineMove(); out.println("ok"); break;
+                case "moves":  moves(); break;
+                case "result": requireGame(); out.println("ok " + resultName(game.getResult())); break;
+                case "stats":  out.println("ok " + server.getStats()); break;
+                default:       out.println("error unknown command: " + parts[0]);
+            }
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            out.println("error " + e.getMessage());
+        }
+    }
+
+    private void newGame(String args) {
+        String[] parts = args.split("\\s+", 2);
+        String side = parts[0];
+        String fen = parts.length > 1 ? parts[1] : null;
+        if (side.isEmpty() || side.equals("none")) {
+            engineSide = null;
+        } else if (side.equals("white") || side.equals("black")) {
+            engineSide = side.equals("white");
+        } else {
+            // No side given, the whole argument is the FEN
+            engineSide = null;
+            fen = args;
+        }
+        game = fen != null ? new GameState(fen) : new GameState();
+        game.addListener(new GameListener() {
+            @Override
+            public void moveMade(int move) {
+                out.println("played " + PackedMove.toAlgebraic(move));
+            }
+
+            @Override
+            public void gameOver(GameResult result) {
+                out.println("gameover " + resultName(result));
+            }
+        });
+        out.println("ok " + (game.isWhiteToMove() ? "white" : "black") + " to move");
+        if (isEngineTurn()) {
+            engineMove();
+        }
+    }
+
+    private void move(String move) {
+        requireGame();
+        long start = System.nanoTime();
+        game.play(move);
+        if (isEngineTurn()) {
+            engineMove();
+        }
+        server.getMoveLatency().record(System.nanoTime() - start);
+        out.println("ok");
+    }
+
+    private void moves() {
+        requireGame();
+        StringBuilder sb = new StringBuilder("ok");
+        for (int move : game.getLegalMoves()) {
+            sb.append(' ').append(PackedMove.toAlgebraic(move));
+        }
+        out.println(sb);
+    }
+
+    private void engineMove() {
+        if (game.getResult().isOver()) {
+            throw new IllegalStateException("game is over");
+        }
+        Future<SearchResult> future = server.getEngine().submit(game.getPosition(), game.getLegalMoves(),
+                server.getEngineTimeMillis());
+        try {
+            game.play(future.get().getBestMove());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted");
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("engine failed: " + e.getCause());
+        }
+    }
+
+    private boolean isEngineTurn() {
+        return engineSide != null && engineSide == game.isWhiteToMove() && !game.getResult().isOver();
+    }
+
+    private void requireGame() {
+        if (game == null) {
+            throw new IllegalStateException("no game, send 'new' first");
+        }
+    }
+
+    private static String resultName(GameResult result) {
+        return result.name().toLowerCase();
+    }
+}
@@ -0,0 +1,49 @@
+package com.chessgame.Server;
+
+import java.util.Arrays;
+
+/**
+ * Keeps the most recent latency samples in a ring buffer and reports percentiles over them.
+ * Recording is a synchronized array store, cheap enough to do on every move.
+ */
+public class LatencyRecorder {
+    private final long[] samples;
+    private int next;
+    private long count;
+
+    /**
+     * @param capacity number of most recent samples the percentiles are computed over
+     */
+    public LatencyRecorder(int capacity) {
+        this.samples = new long[capacity];
+    }
+
+    public synchronized void record(long nanos) {
+        samples[next] = nanos;
+        next = (next + 1) % samples.length;
+        count++;
+    }
+
+    /**
+     * Total number of samples recorded.
+     */
+    public synchronized long getCount() {
+        return count;
+    }
+
+    /**
+     * The given percentile (0-100) of the recent samples in microseconds, or 0 without samples.
+     */
+    public long percentileMicros(double percentile) {
+        long[] sorted;
+        synchronized (this) {
+            sorted = Arrays.copyOf(samples, (int) Math.min(count, samples.length));
+        }
+        if (sorted.length == 0) {
+            return 0;
+        }
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1000;
+    }
+}
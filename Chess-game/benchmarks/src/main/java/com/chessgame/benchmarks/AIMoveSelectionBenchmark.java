@@ -0,0 +1,59 @@
+package com.chessgame.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.chessgame.Ai.Search;
+import com.chessgame.Ai.SearchResult;
+import com.chessgame.Ai.TranspositionTable;
+import com.chessgame.Board.MoveGenerator;
+
+/**
+ * The AI's move selection as AIGameEngine runs it: the game's legal moves and drops scored
+ * with a search of fixed node budget, so runs are comparable regardless of machine speed.
+ * The table is cleared before every search so each one starts from scratch.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class AIMoveSelectionBenchmark {
+    private static final long NODE_BUDGET = 20000;
+    private static final int MAX_DEPTH = 64;
+    private static final int TABLE_SIZE_MB = 4;
+
+    @State(Scope.Thread)
+    public static class TableState {
+        public TranspositionTable table;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            table = new TranspositionTable(TABLE_SIZE_MB);
+        }
+
+        @Setup(Level.Invocation)
+        public void clear() {
+            table.clear();
+        }
+    }
+
+    @Benchmark
+    public SearchResult scoreCandidates(LoadedGame state, TableState table) {
+        int[] rootMoves = MoveGenerator.generateLegal(state.root);
+        table.table.newSearch();
+        Search search = new Search(state.root.copy(), table.table);
+        return search.search(rootMoves, 0, NODE_BUDGET, MAX_DEPTH);
+    }
+}
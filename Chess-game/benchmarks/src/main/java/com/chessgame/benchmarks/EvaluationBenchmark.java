@@ -0,0 +1,70 @@
+package com.chessgame.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.chessgame.Ai.EvaluationUtils;
+import com.chessgame.Ai.PositionEvaluator;
+import com.chessgame.Board.Board;
+import com.chessgame.Board.CompactPosition;
+import com.chessgame.Board.Position;
+
+/**
+ * Static evaluation and board copying: the legacy evaluateBoard, the search's
+ * {@link PositionEvaluator}, and {@link Board#clone()} against {@link Position#copy()} and
+ * {@link Position#compact()}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class EvaluationBenchmark {
+
+    @State(Scope.Thread)
+    public static class SnapshotState {
+        public Position position;
+        public final PositionEvaluator evaluator = new PositionEvaluator();
+
+        @Setup(Level.Trial)
+        public void setUp(LoadedGame game) {
+            position = game.root.copy();
+        }
+    }
+
+    @Benchmark
+    public int evaluateBoard(LoadedGame state) {
+        return EvaluationUtils.evaluateBoard(state.board, state.whiteToMove);
+    }
+
+    @Benchmark
+    public int positionEvaluator(SnapshotState snapshot) {
+        return snapshot.evaluator.evaluate(snapshot.position);
+    }
+
+    @Benchmark
+    public Board boardClone(LoadedGame state) {
+        return state.board.clone();
+    }
+
+    @Benchmark
+    public Position positionCopy(SnapshotState snapshot) {
+        return snapshot.position.copy();
+    }
+
+    @Benchmark
+    public CompactPosition compactSnapshot(SnapshotState snapshot) {
+        return snapshot.position.compact();
+    }
+}
@@ -0,0 +1,34 @@
+package com.chessgame.benchmarks;
+
+/**
+ * Fixed positions the benchmarks run over, as FEN strings in the form {@code Game.loadPosition}
+ * reads them (crazyhouse pockets in brackets after the placement).
+ */
+public final class FenSuite {
+    public static final String OPENING =
+            "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1";
+    public static final String MIDDLEGAME =
+            "r1bq1rk1/pp2bppp/2n1pn2/3p4/2PP4/2N1PN2/PP1B1PPP/R2QKB1R w KQ - 0 9";
+    // Both pockets filled: most of the legal moves are drops
+    public static final String DROP_HEAVY =
+            "r2qk2r/ppp2ppp/2n1b3/3p4/3P4/2N1B3/PPP2PPP/R2QK2R[NBPPnbpp] w KQkq - 0 12";
+    public static final String ENDGAME =
+            "8/5k2/3p4/1p1P4/1P3K2/8/4R3/6r1 w - - 0 50";
+
+    private FenSuite() {
+    }
+
+    /**
+     * Position for a benchmark parameter name (opening, middlegame, drops, endgame).
+     */
+    public static String get(String name) {
+        switch (name) {
+            case "opening":    return OPENING;
+            case "middlegame": return MIDDLEGAME;
+            case "drops":      return DROP_HEAVY;
+            case "endgame":    return ENDGAME;
+            default:
+                throw new IllegalArgumentException("Unknown position: " + name);
+        }
+    }
+}
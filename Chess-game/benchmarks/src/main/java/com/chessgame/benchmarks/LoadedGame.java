@@ -0,0 +1,52 @@
+package com.chessgame.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.chessgame.Board.Board;
+import com.chessgame.Board.Position;
+import com.chessgame.Game.Game;
+import com.chessgame.Pieces.Piece;
+
+/**
+ * A Swing game loaded with one position of the {@link FenSuite}: its board of pieces and a
+ * copy of its position. Benchmarks refill the pieces' move lists, so the state is shared by
+ * the whole benchmark and the benchmarks run single-threaded.
+ */
+@State(Scope.Benchmark)
+public class LoadedGame {
+
+    @Param({ "opening", "middlegame", "drops", "endgame" })
+    public String position;
+
+    public Game game;
+    public Board board;
+    public Position root;
+    // Pieces of the side to move and of the other side
+    public List<Piece> sideToMove;
+    public List<Piece> opponent;
+    public boolean whiteToMove;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        game = new Game();
+        game.loadPosition(FenSuite.get(position));
+        board = game.getBoard();
+        root = game.getPosition();
+        whiteToMove = game.isWhiteToMove();
+        sideToMove = new ArrayList<>();
+        opponent = new ArrayList<>();
+        for (Piece p : board.getPieces(whiteToMove)) {
+            sideToMove.add(p);
+        }
+        for (Piece p : board.getPieces(!whiteToMove)) {
+            opponent.add(p);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.chessgame.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.chessgame.Ai.EvaluationUtils;
+import com.chessgame.Board.Board;
+import com.chessgame.Board.Move;
+import com.chessgame.Board.MoveGenerator;
+import com.chessgame.Pieces.Piece;
+
+/**
+ * Move generation and legality for the side to move: pseudo-legal moves of the game's
+ * pieces, the legal moves and drops the game plays by, and the legacy evaluator's per-move
+ * legality check.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class MoveGenerationBenchmark {
+
+    @Benchmark
+    public void pseudoLegalMoves(LoadedGame state, Blackhole bh) {
+        Board board = state.board;
+        for (Piece p : state.sideToMove) {
+            p.fillAllPseudoLegalMoves(board);
+            bh.consume(p.getMoves());
+        }
+    }
+
+    /**
+     * All legal moves and drops, as the game generates them after every move
+     * ({@link MoveGenerator#generateLegal}).
+     */
+    @Benchmark
+    public int[] legalMoves(LoadedGame state) {
+        return MoveGenerator.generateLegal(state.root);
+    }
+
+    @Benchmark
+    public int isMoveLegal(LoadedGame state) {
+        Board board = state.board;
+        int legal = 0;
+        for (Piece p : state.sideToMove) {
+            p.fillAllPseudoLegalMoves(board);
+            for (Move move : p.getMoves()) {
+                if (EvaluationUtils.isMoveLegal(board, p, move)) {
+                    legal++;
+                }
+            }
+        }
+        return legal;
+    }
+}
@@ -0,0 +1,104 @@
+package com.chessgame.benchmarks;
+
+import java.util.EnumSet;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.chessgame.Ai.Pruning;
+import com.chessgame.Ai.Search;
+import com.chessgame.Ai.SearchResult;
+import com.chessgame.Ai.TranspositionTable;
+import com.chessgame.Board.Fen;
+import com.chessgame.Board.MoveGenerator;
+import com.chessgame.Board.Position;
+
+/**
+ * Fixed-depth search with each selective search technique switched off in turn (and all
+ * or none of them), reporting time per search and, as auxiliary counters, the nodes
+ * searched and the pawn hash probes that hit. Win rates for the same variants come from {@link SelfPlay}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class PruningBenchmark {
+    private static final int TABLE_SIZE_MB = 16;
+
+    @State(Scope.Thread)
+    public static class SearchState {
+        @Param({ "opening", "middlegame", "drops", "endgame" })
+        public String position;
+
+        @Param({ "all", "none", "no-null-move", "no-lmr", "no-futility", "no-reverse-futility", "no-razoring" })
+        public String pruning;
+
+        @Param({ "6" })
+        public int depth;
+
+        public Position root;
+        public int[] rootMoves;
+        public EnumSet<Pruning> enabled;
+        public TranspositionTable table;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            root = Fen.parse(FenSuite.get(position));
+            rootMoves = MoveGenerator.generateLegal(root);
+            enabled = SelfPlay.variant(pruning);
+            table = new TranspositionTable(TABLE_SIZE_MB);
+        }
+
+        @Setup(Level.Invocation)
+        public void clear() {
+            table.clear();
+        }
+    }
+
+    /**
+     * Nodes and searches of each iteration; their ratio is the nodes per search. The pawn
+     * hash hit rate is pawnHashHits / pawnHashProbes.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class NodeCounter {
+        public long nodes;
+        public long searches;
+        public long pawnHashHits;
+        public long pawnHashProbes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            nodes = 0;
+            searches = 0;
+            pawnHashHits = 0;
+            pawnHashProbes = 0;
+        }
+    }
+
+    @Benchmark
+    public SearchResult fixedDepth(SearchState state, NodeCounter counter) {
+        state.table.newSearch();
+        Search search = new Search(state.root.copy(), state.table);
+        search.setPruning(state.enabled);
+        SearchResult result = search.search(state.rootMoves, 0, 0, state.depth);
+        counter.nodes += result.getNodes();
+        counter.searches++;
+        counter.pawnHashHits += search.getPawnTable().getHits();
+        counter.pawnHashProbes += search.getPawnTable().getHits() + search.getPawnTable().getMisses();
+        return result;
+    }
+}
@@ -0,0 +1,122 @@
+package com.chessgame.benchmarks;
+
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Random;
+
+import com.chessgame.Ai.Pruning;
+import com.chessgame.Ai.Search;
+import com.chessgame.Ai.SearchResult;
+import com.chessgame.Ai.TranspositionTable;
+import com.chessgame.Game.GameResult;
+import com.chessgame.Game.GameState;
+
+/**
+ * Elo proxy for the selective search techniques: the full search plays a match against a
+ * variant with one technique switched off (or all of them), at a fixed node budget per
+ * move so results do not depend on machine speed. Games start from the {@link FenSuite}
+ * positions after two random plies, each opening played with both colors; a game still
+ * running after {@value #MAX_PLIES} plies counts as a draw.
+ *
+ * <pre>
+ * java -cp benchmarks/target/benchmarks.jar com.chessgame.benchmarks.SelfPlay [variant|all] [games] [nodes]
+ * </pre>
+ *
+ * Prints the full search's score and the Elo difference it implies, e.g.
+ * {@code no-lmr: +12 -5 =3  score 0.59  Elo +63}. The node budget hides the time a
+ * technique costs per node; {@link PruningBenchmark} shows that side.
+ */
+public class SelfPlay {
+    private static final int MAX_PLIES = 200;
+    private static final int RANDOM_PLIES = 2;
+    private static final int TABLE_SIZE_MB = 16;
+    private static final String[] OPENINGS = {
+            FenSuite.OPENING, FenSuite.MIDDLEGAME, FenSuite.DROP_HEAVY, FenSuite.ENDGAME
+    };
+    private static final String[] VARIANTS = {
+            "none", "no-null-move", "no-lmr", "no-futility", "no-reverse-futility", "no-razoring"
+    };
+
+    /**
+     * Enabled techniques for a variant name: "all", "none" or "no-" plus a technique.
+     */
+    public static EnumSet<Pruning> variant(String name) {
+        switch (name) {
+            case "all":                 return EnumSet.allOf(Pruning.class);
+            case "none":                return EnumSet.noneOf(Pruning.class);
+            case "no-null-move":        return without(Pruning.NULL_MOVE);
+            case "no-lmr":              return without(Pruning.LATE_MOVE_REDUCTIONS);
+            case "no-futility":         return without(Pruning.FUTILITY);
+            case "no-reverse-futility": return without(Pruning.REVERSE_FUTILITY);
+            case "no-razoring":         return without(Pruning.RAZORING);
+            default:
+                throw new IllegalArgumentException("Unknown pruning variant: " + name);
+        }
+    }
+
+    private static EnumSet<Pruning> without(Pruning technique) {
+        EnumSet<Pruning> set = EnumSet.allOf(Pruning.class);
+        set.remove(technique);
+        return set;
+    }
+
+    public static void main(String[] args) {
+        String which = args.length > 0 ? args[0] : "all";
+        int games = args.length > 1 ? Integer.parseInt(args[1]) : 40;
+        long nodes = args.length > 2 ? Long.parseLong(args[2]) : 20000;
+        String[] variants = which.equals("all") ? VARIANTS : new String[] { which };
+        for (String name : variants) {
+            System.out.println(match(name, games, nodes));
+        }
+    }
+
+    /**
+     * Plays {@code games} games of the full search against the named variant and returns
+     * a one-line summary.
+     */
+    public static String match(String name, int games, long nodesPerMove) {
+        EnumSet<Pruning> opponent = variant(name);
+        EnumSet<Pruning> full = EnumSet.allOf(Pruning.class);
+        TranspositionTable table = new TranspositionTable(TABLE_SIZE_MB);
+        int wins = 0, losses = 0, draws = 0;
+        for (int game = 0; game < games; game++) {
+            // Each opening (with its random plies) is played twice, with colors swapped
+            int opening = game / 2;
+            boolean fullIsWhite = game % 2 == 0;
+            GameState state = new GameState(OPENINGS[opening % OPENINGS.length]);
+            Random random = new Random(opening);
+            for (int i = 0; i < RANDOM_PLIES && !state.getResult().isOver(); i++) {
+                int[] moves = state.getLegalMoves();
+                state.play(moves[random.nextInt(moves.length)]);
+            }
+            table.clear();
+            GameResult result = state.getResult();
+            for (int ply = 0; ply < MAX_PLIES && !result.isOver(); ply++) {
+                boolean fullToMove = state.isWhiteToMove() == fullIsWhite;
+                table.newSearch();
+                Search search = new Search(state.getPosition(), table);
+                search.setPruning(fullToMove ? full : opponent);
+                SearchResult move = search.search(state.getLegalMoves(), 0, nodesPerMove, Search.MAX_PLY);
+                state.play(move.getBestMove());
+                result = state.getResult();
+            }
+            if (result == GameResult.WHITE_WINS || result == GameResult.BLACK_WINS) {
+                if ((result == GameResult.WHITE_WINS) == fullIsWhite) wins++;
+                else losses++;
+            } else {
+                draws++;
+            }
+        }
+        double score = (wins + draws / 2.0) / games;
+        return String.format(Locale.ROOT, "%s: +%d -%d =%d  score %.2f  Elo %+.0f",
+                name, wins, losses, draws, score, elo(score));
+    }
+
+    /**
+     * Elo difference implied by a match score (clamped for 0 and 1).
+     */
+    private static double elo(double score) {
+        double clamped = Math.min(Math.max(score, 0.01), 0.99);
+        return -400 * Math.log10(1 / clamped - 1);
+    }
+}